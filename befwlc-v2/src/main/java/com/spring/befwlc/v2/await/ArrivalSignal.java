@@ -0,0 +1,46 @@
+package com.spring.befwlc.v2.await;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.kafka.KafkaMessageStore;
+import com.spring.befwlc.v2.matching.MessageFilterSet;
+import com.spring.befwlc.v2.matching.MessageMatcher;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Store arrival listener for a pending await of one or more filter sets. Runs on the Kafka
+ * listener thread and only evaluates the envelope that was just stored, and only if it belongs
+ * to the await's correlation partitions. Wakes the await when any of the filter sets matches.
+ */
+class ArrivalSignal implements Consumer<ObjectNode> {
+    private final KafkaMessageStore store;
+    private final List<MessageFilterSet> filterSets;
+    private final Collection<String> correlationKeys;
+    private final Semaphore matches = new Semaphore(0);
+
+    ArrivalSignal(KafkaMessageStore store, List<MessageFilterSet> filterSets, Collection<String> correlationKeys) {
+        this.store = store;
+        this.filterSets = filterSets;
+        this.correlationKeys = correlationKeys;
+    }
+
+    @Override
+    public void accept(ObjectNode envelope) {
+        if (!store.isInPartitions(envelope, correlationKeys)) return;
+        List<ObjectNode> arrived = List.of(envelope);
+        for (MessageFilterSet filterSet : filterSets) {
+            store.prepare(arrived, filterSet);
+            if (MessageMatcher.matchOrTrackPartial(envelope, filterSet)) {
+                matches.release();
+                return;
+            }
+        }
+    }
+
+    boolean await(long timeoutNanos) throws InterruptedException {
+        return matches.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+}
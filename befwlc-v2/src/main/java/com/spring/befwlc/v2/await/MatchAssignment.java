@@ -0,0 +1,115 @@
+package com.spring.befwlc.v2.await;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.exception.TestExecutionException;
+import com.spring.befwlc.v2.kafka.KafkaMessageStore;
+import com.spring.befwlc.v2.matching.MessageFilterSet;
+import com.spring.befwlc.v2.matching.MessageMatcher;
+import lombok.extern.slf4j.Slf4j;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Pairs the expectations of a multi-message await with arrived records, one record each. Every
+ * record that fully matches some expectation is kept as a candidate, and the pairing is a maximum
+ * bipartite matching grown by augmenting paths as candidates arrive, so a record that fits several
+ * expectations is moved to another one when that lets every expectation be met.
+ */
+@Slf4j
+class MatchAssignment {
+    private final KafkaMessageStore store;
+    private final List<MessageFilterSet> filterSets;
+    private final List<ObjectNode> records = new ArrayList<>();
+    // Per filter set, the indices of the records it fully matches
+    private final List<List<Integer>> candidates = new ArrayList<>();
+    // Per record, the filter set it is assigned to, or -1
+    private final List<Integer> owners = new ArrayList<>();
+    private final int[] assigned;
+    private int open;
+
+    MatchAssignment(KafkaMessageStore store, List<MessageFilterSet> filterSets) {
+        this.store = store;
+        this.filterSets = filterSets;
+        this.assigned = new int[filterSets.size()];
+        Arrays.fill(assigned, -1);
+        this.open = filterSets.size();
+        for (int i = 0; i < filterSets.size(); i++) candidates.add(new ArrayList<>());
+    }
+
+    /** Takes the records that arrived since the previous scan and extends the pairing with them. */
+    void add(List<ObjectNode> arrived) {
+        if (arrived.isEmpty()) return;
+        for (MessageFilterSet filterSet : filterSets) store.prepare(arrived, filterSet);
+        boolean added = false;
+        for (ObjectNode record : arrived) {
+            int index = records.size();
+            boolean candidate = false;
+            for (int i = 0; i < filterSets.size(); i++) {
+                if (MessageMatcher.matchOrTrackPartial(record, filterSets.get(i))) {
+                    candidates.get(i).add(index);
+                    candidate = true;
+                }
+            }
+            if (candidate) {
+                records.add(record);
+                owners.add(-1);
+                added = true;
+            }
+        }
+        if (!added) return;
+        for (int i = 0; i < assigned.length; i++) {
+            if (assigned[i] < 0 && augment(i, new boolean[records.size()])) open--;
+        }
+    }
+
+    boolean isComplete() {
+        return open == 0;
+    }
+
+    /** Indices of the filter sets still without a record. */
+    List<Integer> unassigned() {
+        List<Integer> unassigned = new ArrayList<>();
+        for (int i = 0; i < assigned.length; i++) {
+            if (assigned[i] < 0) unassigned.add(i);
+        }
+        return unassigned;
+    }
+
+    /**
+     * Removes the paired records from the store and returns them in the order of the filter sets.
+     * Fails like a single await when more records matched than there are expectations to take them,
+     * and warns about each expectation that matched several records and so was paired by elimination.
+     */
+    List<ObjectNode> claim() {
+        if (records.size() > assigned.length) {
+            throw new TestExecutionException("Multiple messages matched the filters (%d found for %d expected)",
+                    records.size(), assigned.length);
+        }
+        List<ObjectNode> matched = new ArrayList<>(assigned.length);
+        for (int i = 0; i < assigned.length; i++) {
+            ObjectNode record = records.get(assigned[i]);
+            if (candidates.get(i).size() > 1) {
+                log.warn("Expected message {} of {} matched {} messages; took the one at offset {}",
+                        i + 1, assigned.length, candidates.get(i).size(), record.get("Offset"));
+            }
+            store.remove(record);
+            matched.add(record);
+        }
+        return matched;
+    }
+
+    private boolean augment(int filterSet, boolean[] visited) {
+        for (int record : candidates.get(filterSet)) {
+            if (visited[record]) continue;
+            visited[record] = true;
+            int owner = owners.get(record);
+            if (owner < 0 || augment(owner, visited)) {
+                owners.set(record, filterSet);
+                assigned[filterSet] = record;
+                return true;
+            }
+        }
+        return false;
+    }
+}
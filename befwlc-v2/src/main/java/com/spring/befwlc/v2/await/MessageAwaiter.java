@@ -1,11 +1,18 @@
 package com.spring.befwlc.v2.await;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.spring.befwlc.v2.config.AwaitProperties;
+import com.spring.befwlc.v2.config.KafkaProperties;
 import com.spring.befwlc.v2.context.ContextKey;
 import com.spring.befwlc.v2.context.ScenarioContext;
 import com.spring.befwlc.v2.exception.MessageNotFoundException;
+import com.spring.befwlc.v2.exception.TestExecutionException;
+import com.spring.befwlc.v2.kafka.KafkaConstants;
 import com.spring.befwlc.v2.kafka.KafkaMessageStore;
+import com.spring.befwlc.v2.kafka.MessageCursor;
+import com.spring.befwlc.v2.matching.JsonPathResolver;
+import com.spring.befwlc.v2.matching.MessageFilter;
 import com.spring.befwlc.v2.matching.MessageFilterSet;
 import com.spring.befwlc.v2.matching.MessageMatcher;
 import lombok.RequiredArgsConstructor;
@@ -15,8 +22,11 @@ import org.awaitility.core.ConditionTimeoutException;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 
 @Slf4j
 @Component
@@ -25,42 +35,210 @@ public class MessageAwaiter {
 
     private final KafkaMessageStore messageStore;
     private final AwaitProperties awaitProperties;
+    private final KafkaProperties kafkaProperties;
     private final ScenarioContext scenarioContext;
 
     public ObjectNode awaitMatch(MessageFilterSet filterSet) {
         log.info("Waiting for Kafka message matching filters:\n{}", filterSet);
+        long startSequence = messageStore.lastSequence();
 
+        Optional<ObjectNode> found = awaitProperties.getMode() == AwaitProperties.Mode.NOTIFY
+                ? awaitArrival(filterSet)
+                : pollForMatch(filterSet);
+
+        if (found.isEmpty()) {
+            // Indexed lookups only evaluate narrowed candidates, so collect diagnostics from the whole store
+            if (messageStore.isIndexed()) {
+                MessageMatcher.collectPartialMatches(messageStore.prepare(messageStore.getAll(scenarioContext.getCorrelationKeys()), filterSet), filterSet);
+            }
+            MessageMatcher.logPartialMatches(filterSet.getBestPartialMatches());
+            warnOfEvictions(startSequence);
+            throw new MessageNotFoundException("No Kafka message found matching the given filters after %d seconds",
+                    awaitProperties.getTimeoutSeconds());
+        }
+
+        ObjectNode matched = found.get();
+        scenarioContext.put(ContextKey.LAST_MATCHED_RECORD, matched);
+        log.info("Found matching message at offset {}", matched.get("Offset"));
+        recordLatency(matched);
+        return matched;
+    }
+
+    /** Only records stored after the await started count: earlier evictions are mostly other scenarios' traffic. */
+    private void warnOfEvictions(long startSequence) {
+        long evicted = messageStore.evictedThrough();
+        if (evicted > startSequence) {
+            log.warn("Records stored during this await were evicted up to sequence {}; the expected message may have been dropped ({})",
+                    evicted, messageStore.stats());
+        }
+    }
+
+    /**
+     * Broker timestamp of the match minus the publish time of the message it answers, found by the
+     * value at the response correlation path. Matches without such a value, or with one this
+     * scenario did not publish, are not sampled.
+     */
+    private void recordLatency(ObjectNode matched) {
+        String path = kafkaProperties.getLoad().getResponseCorrelationPath();
+        if (path == null || path.isBlank()) return;
+        JsonNode key = JsonPathResolver.resolve(matched, path);
+        if (key.isMissingNode() || key.isNull()) return;
+        Long publishedAt = scenarioContext.getPublishTime(key.asText());
+        if (publishedAt == null) return;
+        long timestamp = matched.path(KafkaConstants.TIMESTAMP).asLong(-1);
+        if (timestamp < 0) return;
+        long latency = timestamp - publishedAt;
+        scenarioContext.addMatchLatency(latency);
+        log.info("Matched message was produced {} ms after publish", latency);
+    }
+
+    private Optional<ObjectNode> pollForMatch(MessageFilterSet filterSet) {
+        Set<String> correlationKeys = scenarioContext.getCorrelationKeys();
+        MessageCursor cursor = new MessageCursor();
         AtomicReference<ObjectNode> found = new AtomicReference<>();
         try {
             Awaitility.await()
                     .atMost(Duration.ofSeconds(awaitProperties.getTimeoutSeconds()))
                     .pollInterval(Duration.ofSeconds(awaitProperties.getPollIntervalSeconds()))
                     .until(() -> {
-                        Optional<ObjectNode> match = MessageMatcher.findMatch(messageStore.getAll(), filterSet, messageStore);
+                        Optional<ObjectNode> match = MessageMatcher.findMatch(messageStore.candidatesSince(filterSet, cursor, correlationKeys), filterSet, messageStore);
                         match.ifPresent(found::set);
                         return match.isPresent();
                     });
         } catch (ConditionTimeoutException e) {
-            MessageMatcher.logPartialMatches(filterSet.getBestPartialMatches());
-            throw new MessageNotFoundException("No Kafka message found matching the given filters after %d seconds",
-                    awaitProperties.getTimeoutSeconds());
+            return Optional.empty();
         }
+        return Optional.of(found.get());
+    }
 
-        ObjectNode matched = found.get();
-        scenarioContext.put(ContextKey.LAST_MATCHED_RECORD, matched);
-        log.info("Found matching message at offset {}", matched.get("Offset"));
+    /**
+     * Registers for store arrivals before the initial scan so nothing slips in between, then
+     * sleeps until an arriving envelope fully matches. The wake-up re-runs the regular match so
+     * multiple-match detection and removal behave exactly as in poll mode, over the records
+     * that arrived since the previous scan.
+     */
+    private Optional<ObjectNode> awaitArrival(MessageFilterSet filterSet) {
+        Set<String> correlationKeys = scenarioContext.getCorrelationKeys();
+        ArrivalSignal signal = new ArrivalSignal(messageStore, List.of(filterSet), correlationKeys);
+        MessageCursor cursor = new MessageCursor();
+        long deadline = System.nanoTime() + Duration.ofSeconds(awaitProperties.getTimeoutSeconds()).toNanos();
+        messageStore.addArrivalListener(signal);
+        try {
+            while (true) {
+                Optional<ObjectNode> match = MessageMatcher.findMatch(messageStore.candidatesSince(filterSet, cursor, correlationKeys), filterSet, messageStore);
+                if (match.isPresent()) return match;
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !signal.await(remaining)) return Optional.empty();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestExecutionException("Interrupted while waiting for Kafka message", e);
+        } finally {
+            messageStore.removeArrivalListener(signal);
+        }
+    }
+
+    /**
+     * Waits for one message per filter set under a single deadline. Each scan takes the records that
+     * arrived since the previous one and checks each against every expectation; the pairing of
+     * expectations with records is a bipartite matching, so overlapping expectations are met whenever
+     * some pairing meets them all, and identical expectations each take their own record. Returns the
+     * matches in the order of the filter sets.
+     */
+    public List<ObjectNode> awaitMatches(List<MessageFilterSet> filterSets) {
+        log.info("Waiting for {} Kafka messages, the first matching filters:\n{}", filterSets.size(), filterSets.get(0));
+        long startSequence = messageStore.lastSequence();
+        Set<String> correlationKeys = scenarioContext.getCorrelationKeys();
+        MessageFilterSet sharedFilters = sharedFilters(filterSets);
+        MatchAssignment assignment = new MatchAssignment(messageStore, filterSets);
+        MessageCursor cursor = new MessageCursor();
+        BooleanSupplier complete = () -> {
+            assignment.add(messageStore.candidatesSince(sharedFilters, cursor, correlationKeys));
+            return assignment.isComplete();
+        };
+
+        boolean found = awaitProperties.getMode() == AwaitProperties.Mode.NOTIFY
+                ? awaitArrivals(filterSets, correlationKeys, complete)
+                : pollUntil(complete);
+
+        if (!found) {
+            List<Integer> unassigned = assignment.unassigned();
+            for (int i : unassigned) {
+                MessageFilterSet filterSet = filterSets.get(i);
+                if (messageStore.isIndexed()) {
+                    MessageMatcher.collectPartialMatches(messageStore.prepare(messageStore.getAll(correlationKeys), filterSet), filterSet);
+                }
+                log.error("Expected message {} of {} not found, filters:\n{}", i + 1, filterSets.size(), filterSet);
+                MessageMatcher.logPartialMatches(filterSet.getBestPartialMatches());
+            }
+            warnOfEvictions(startSequence);
+            throw new MessageNotFoundException("%d of %d expected Kafka messages not found after %d seconds",
+                    unassigned.size(), filterSets.size(), awaitProperties.getTimeoutSeconds());
+        }
+
+        List<ObjectNode> matched = assignment.claim();
+        for (ObjectNode record : matched) recordLatency(record);
+        scenarioContext.put(ContextKey.LAST_MATCHED_RECORD, matched.get(matched.size() - 1));
+        log.info("Found all {} expected messages", matched.size());
         return matched;
     }
 
+    /** Re-evaluates the condition whenever an arrival matches one of the filter sets, until the await deadline. */
+    private boolean awaitArrivals(List<MessageFilterSet> filterSets, Set<String> correlationKeys, BooleanSupplier condition) {
+        ArrivalSignal signal = new ArrivalSignal(messageStore, filterSets, correlationKeys);
+        long deadline = System.nanoTime() + Duration.ofSeconds(awaitProperties.getTimeoutSeconds()).toNanos();
+        messageStore.addArrivalListener(signal);
+        try {
+            while (!condition.getAsBoolean()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) return false;
+                signal.await(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestExecutionException("Interrupted while waiting for Kafka messages", e);
+        } finally {
+            messageStore.removeArrivalListener(signal);
+        }
+    }
+
+    private boolean pollUntil(BooleanSupplier condition) {
+        try {
+            Awaitility.await()
+                    .atMost(Duration.ofSeconds(awaitProperties.getTimeoutSeconds()))
+                    .pollInterval(Duration.ofSeconds(awaitProperties.getPollIntervalSeconds()))
+                    // The condition mutates state read after the wait, which a timed-out poller thread could still be writing
+                    .pollInSameThread()
+                    .until(condition::getAsBoolean);
+            return true;
+        } catch (ConditionTimeoutException e) {
+            return false;
+        }
+    }
+
+    /** The filters every set has in common, such as the topic, which an indexed store narrows the scan by. */
+    private static MessageFilterSet sharedFilters(List<MessageFilterSet> filterSets) {
+        MessageFilterSet shared = new MessageFilterSet();
+        for (MessageFilter filter : filterSets.get(0).getFilters()) {
+            boolean inAll = filterSets.stream().allMatch(set -> set.getFilters().stream().anyMatch(other ->
+                    other.getKey().equals(filter.getKey()) && other.getExpectedValue().equals(filter.getExpectedValue())));
+            if (inAll) shared.addFilter(filter.getKey(), filter.getExpectedValue());
+        }
+        return shared;
+    }
+
     public void awaitNoMatch(MessageFilterSet filterSet) {
         log.info("Verifying no Kafka message matches filters:\n{}", filterSet);
+        Set<String> correlationKeys = scenarioContext.getCorrelationKeys();
 
         try {
             Awaitility.await()
                     .atMost(Duration.ofSeconds(awaitProperties.getTimeoutSeconds()))
                     .pollInterval(Duration.ofSeconds(awaitProperties.getPollIntervalSeconds()))
                     .untilAsserted(() ->
-                            MessageMatcher.assertNoMatch(messageStore.getAll(), filterSet)
+                            MessageMatcher.assertNoMatch(messageStore.candidates(filterSet, correlationKeys), filterSet)
                     );
         } catch (ConditionTimeoutException e) {
             // If assertNoMatch kept throwing (a match was found), propagate the failure
@@ -11,4 +11,12 @@ public class AwaitProperties {
     private int timeoutSeconds = 90;
     private int pollIntervalSeconds = 1;
     private int listenerTimeoutSeconds = 60;
+    private Mode mode = Mode.POLL;
+
+    public enum Mode {
+        /** Re-scan the store every {@code pollIntervalSeconds}. */
+        POLL,
+        /** Wake up as soon as the listener stores a matching envelope. */
+        NOTIFY
+    }
 }
@@ -0,0 +1,21 @@
+package com.spring.befwlc.v2.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "dsl")
+@Getter
+@Setter
+public class DslProperties {
+    /**
+     * Seeds generated values per scenario, so a run can be repeated with the same data. Unset
+     * generates fresh values every run; a fixed seed can collide with messages of earlier runs.
+     */
+    private Long randomSeed;
+    /**
+     * Keeps correlation ids of runs sharing a topic apart. Defaults to a hash of the random seed when
+     * one is set, so seeded runs repeat their ids, and otherwise to a hash of the process and host.
+     */
+    private Integer nodeId;
+}
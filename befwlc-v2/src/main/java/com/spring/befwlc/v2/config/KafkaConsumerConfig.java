@@ -1,6 +1,7 @@
 package com.spring.befwlc.v2.config;
 
 import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
@@ -18,11 +19,14 @@ import java.util.Map;
 public class KafkaConsumerConfig {
 
     @Bean
-    public KafkaAvroDeserializer kafkaAvroDeserializer(KafkaProperties kafkaProperties) {
+    public SchemaRegistryClient schemaRegistryClient(KafkaProperties kafkaProperties) {
         Map<String, Object> schemaRegistryConfig = buildSchemaRegistrySslConfig(kafkaProperties);
-        CachedSchemaRegistryClient client = new CachedSchemaRegistryClient(
-                List.of(kafkaProperties.getSchemaRegistryUrl()), 1000, schemaRegistryConfig);
-        return new KafkaAvroDeserializer(client);
+        return new CachedSchemaRegistryClient(List.of(kafkaProperties.getSchemaRegistryUrl()), 1000, schemaRegistryConfig);
+    }
+
+    @Bean
+    public KafkaAvroDeserializer kafkaAvroDeserializer(SchemaRegistryClient schemaRegistryClient) {
+        return new KafkaAvroDeserializer(schemaRegistryClient);
     }
 
     @Bean
@@ -27,6 +27,8 @@ public class KafkaProducerConfig {
         props.put(ProducerConfig.RETRIES_CONFIG, kafkaProperties.getProducer().getRetries());
         props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, kafkaProperties.getProducer().isEnableIdempotence());
         props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, kafkaProperties.getProducer().getMaxInFlightRequestsPerConnection());
+        props.put(ProducerConfig.LINGER_MS_CONFIG, kafkaProperties.getProducer().getLingerMs());
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, kafkaProperties.getProducer().getBatchSize());
 
         props.put("schema.registry.url", kafkaProperties.getSchemaRegistryUrl());
         props.put("auto.register.schemas", false);
@@ -6,6 +6,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "kafka")
 @Validated
 @Getter
@@ -20,6 +23,8 @@ public class KafkaProperties {
     private SchemaRegistrySsl schemaRegistrySsl = new SchemaRegistrySsl();
     private Consumer consumer = new Consumer();
     private Producer producer = new Producer();
+    private Store store = new Store();
+    private Load load = new Load();
 
     @Getter @Setter
     public static class Ssl {
@@ -53,5 +58,33 @@ public class KafkaProperties {
         private int retries = 10;
         private boolean enableIdempotence = false;
         private int maxInFlightRequestsPerConnection = 1;
+        private int lingerMs = 0;
+        private int batchSize = 16384;
+        private int sendTimeoutSeconds = 30;
+    }
+
+    @Getter @Setter
+    public static class Store {
+        private boolean indexed = false;
+        private boolean lazy = false;
+        /** Caps on retained envelopes; oldest are evicted first. Zero disables a cap. */
+        private int maxRecords = 0;
+        private long maxAgeSeconds = 0;
+        private long maxBytes = 0;
+        private boolean offHeap = false;
+        private int offHeapSegmentBytes = 16 * 1024 * 1024;
+        private List<String> indexedPaths = new ArrayList<>(List.of("topic", "Headers.*"));
+        /** Paths whose values partition the store per scenario; empty keeps one shared store. */
+        private List<String> correlationPaths = new ArrayList<>();
+    }
+
+    @Getter @Setter
+    public static class Load {
+        /**
+         * Envelope path of the value a response shares with the message that caused it, looked up in
+         * the publish times of load runs and scenarios; blank skips end-to-end latency.
+         */
+        private String responseCorrelationPath = "Message.body.transactionIdentifierSequence";
+        private int responseTimeoutSeconds = 60;
     }
 }
@@ -0,0 +1,18 @@
+package com.spring.befwlc.v2.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "payload")
+@Getter
+@Setter
+public class PayloadProperties {
+    /** Keep each payload file parsed after its first load instead of reading it on every step. */
+    private boolean cache = true;
+    /** Payload files to load when the context starts, so the first scenario does not pay for them. */
+    private List<String> warmUp = new ArrayList<>();
+}
@@ -5,5 +5,9 @@ public enum ContextKey {
     LAST_PAYLOAD,
     LAST_MATCHED_RECORD,
     BENEFICIARY_ID,
-    TX_SEQ
+    TX_SEQ,
+    CORRELATION_KEYS,
+    LOAD_REPORT,
+    PUBLISH_TIMES,
+    MATCH_LATENCIES
 }
@@ -4,9 +4,13 @@ import com.spring.befwlc.v2.exception.TestExecutionException;
 import io.cucumber.spring.ScenarioScope;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Component
@@ -28,6 +32,43 @@ public class ScenarioContext {
 
     public boolean contains(ContextKey key) { return store.containsKey(key); }
 
+    /** Registers a value that identifies this scenario's Kafka messages, such as a generated beneficiary id. */
+    @SuppressWarnings("unchecked")
+    public void addCorrelationKey(String key) {
+        ((Set<String>) store.computeIfAbsent(ContextKey.CORRELATION_KEYS, k -> new LinkedHashSet<String>())).add(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Set<String> getCorrelationKeys() {
+        if (!store.containsKey(ContextKey.CORRELATION_KEYS)) return Collections.emptySet();
+        return (Set<String>) store.get(ContextKey.CORRELATION_KEYS);
+    }
+
+    /** Records when the message carrying the given correlation key, such as its txSeq, was published. */
+    @SuppressWarnings("unchecked")
+    public void addPublishTime(String key, long timestampMillis) {
+        ((Map<String, Long>) store.computeIfAbsent(ContextKey.PUBLISH_TIMES, k -> new HashMap<String, Long>())).put(key, timestampMillis);
+    }
+
+    /** The publish time recorded for the key, or {@code null} when this scenario published nothing with it. */
+    @SuppressWarnings("unchecked")
+    public Long getPublishTime(String key) {
+        if (!store.containsKey(ContextKey.PUBLISH_TIMES)) return null;
+        return ((Map<String, Long>) store.get(ContextKey.PUBLISH_TIMES)).get(key);
+    }
+
+    /** Records how long after its publish a matched message was produced, in milliseconds. */
+    @SuppressWarnings("unchecked")
+    public void addMatchLatency(long millis) {
+        ((List<Long>) store.computeIfAbsent(ContextKey.MATCH_LATENCIES, k -> new ArrayList<Long>())).add(millis);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<Long> getMatchLatencies() {
+        if (!store.containsKey(ContextKey.MATCH_LATENCIES)) return Collections.emptyList();
+        return (List<Long>) store.get(ContextKey.MATCH_LATENCIES);
+    }
+
     @SuppressWarnings("unchecked")
     public Map<String, String> getPayloadValues() {
         if (!store.containsKey(ContextKey.PAYLOAD_VALUES)) return Collections.emptyMap();
@@ -1,36 +1,48 @@
 package com.spring.befwlc.v2.dsl;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.spring.befwlc.v2.context.ContextKey;
 import com.spring.befwlc.v2.context.ScenarioContext;
 import com.spring.befwlc.v2.exception.TestExecutionException;
 import com.spring.befwlc.v2.matching.JsonPathResolver;
 import com.spring.befwlc.v2.util.DateUtils;
+import com.spring.befwlc.v2.util.RandomSource;
+import com.spring.befwlc.v2.util.RegexUtils;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 @Component
+@RequiredArgsConstructor
 public class BuiltInFunctions {
+    private final CorrelationIdGenerator correlationIds;
 
+    /**
+     * Functions registered as pure must not read the clock, randomness or the scenario context.
+     * Random values come from {@link RandomSource}, so seeded runs generate the same data.
+     */
     public void registerAll(DslRegistry registry) {
         // Static methods
-        registry.register("$FULL_UUID", (args, ctx) -> UUID.randomUUID().toString());
-        registry.register("$SHORT_UUID", (args, ctx) -> UUID.randomUUID().toString().replace("-", ""));
-        registry.register("$5_RANDOM_CHARS", (args, ctx) -> UUID.randomUUID().toString().substring(0, 5));
-        registry.register("$MS_UUID", (args, ctx) -> "MS" + UUID.randomUUID().toString().replace("-", ""));
+        registry.register("$FULL_UUID", (args, ctx) -> RandomSource.uuid().toString());
+        registry.register("$SHORT_UUID", (args, ctx) -> RandomSource.uuid().toString().replace("-", ""));
+        registry.register("$5_RANDOM_CHARS", (args, ctx) -> RandomSource.uuid().toString().substring(0, 5));
+        registry.register("$MS_UUID", (args, ctx) -> "MS" + RandomSource.uuid().toString().replace("-", ""));
         registry.register("$SYS_SHORT_DATE", (args, ctx) -> DateUtils.shortDate());
         registry.register("$SYS_FULL_OFFSET_DATE", (args, ctx) -> DateUtils.fullOffsetDate());
         registry.register("$SYS_FULL_DATE_PLUS_ONE_HOUR", (args, ctx) -> DateUtils.fullOffsetDatePlusOneHour());
         registry.register("$SYS_FULL_DATE", (args, ctx) -> DateUtils.fullDate());
         registry.register("$SYS_ISO_DATE", (args, ctx) -> DateUtils.isoDate());
-        registry.register("$MISSING", (args, ctx) -> "$MISSING");
-        registry.register("$EMPTY_STRING", (args, ctx) -> "");
-        registry.register("$SPOT_SECRET", (args, ctx) -> "@bracadabra");
-        registry.register("$COMMA", (args, ctx) -> ",");
-        registry.register("$BLANK_SPACE", (args, ctx) -> " ");
+        registry.registerPure("$MISSING", (args, ctx) -> "$MISSING");
+        registry.registerPure("$EMPTY_STRING", (args, ctx) -> "");
+        registry.registerPure("$SPOT_SECRET", (args, ctx) -> "@bracadabra");
+        registry.registerPure("$COMMA", (args, ctx) -> ",");
+        registry.registerPure("$BLANK_SPACE", (args, ctx) -> " ");
         registry.register("$TASR_REF", (args, ctx) -> { synchronized (BuiltInFunctions.class) { return DateUtils.ofFormat("MMddHmmssSSSSS"); } });
-        registry.register("$LAST_PAYLOAD", (args, ctx) -> ctx.get(ContextKey.LAST_PAYLOAD, String.class));
+        registry.register("$CORRELATION_ID", (args, ctx) -> CorrelationIdGenerator.beneficiaryId(correlationIds.next()));
+        registry.register("$CORRELATION_SEQUENCE", (args, ctx) -> CorrelationIdGenerator.transactionSequence(correlationIds.next()));
+        registry.register("$LAST_PAYLOAD", (args, ctx) -> ctx.get(ContextKey.LAST_PAYLOAD, JsonNode.class).toString());
 
         // Callable methods
         registry.register("$PAYLOAD_VALUE", (args, ctx) -> {
@@ -40,23 +52,23 @@ public class BuiltInFunctions {
             if (!values.containsKey(key)) throw new TestExecutionException("No payload value found for key: %s", key);
             return values.get(key);
         });
-        registry.register("$TO_UPPER_CASE", (args, ctx) -> { assertArgCount(args, 1, "$TO_UPPER_CASE"); return args.get(0).toUpperCase(); });
-        registry.register("$REMOVE_ALL_CHARS", (args, ctx) -> { assertArgCount(args, 2, "$REMOVE_ALL_CHARS"); return args.get(1).replaceAll(args.get(0), ""); });
-        registry.register("$REPLACE_ALL_CHARS", (args, ctx) -> { assertArgCount(args, 3, "$REPLACE_ALL_CHARS"); return args.get(2).replaceAll(args.get(0), args.get(1)); });
+        registry.registerPure("$TO_UPPER_CASE", (args, ctx) -> { assertArgCount(args, 1, "$TO_UPPER_CASE"); return args.get(0).toUpperCase(); });
+        registry.registerPure("$REMOVE_ALL_CHARS", (args, ctx) -> { assertArgCount(args, 2, "$REMOVE_ALL_CHARS"); return RegexUtils.replaceAll(args.get(1), args.get(0), ""); });
+        registry.registerPure("$REPLACE_ALL_CHARS", (args, ctx) -> { assertArgCount(args, 3, "$REPLACE_ALL_CHARS"); return RegexUtils.replaceAll(args.get(2), args.get(0), args.get(1)); });
         registry.register("$SYS_DATE_OF_FORMAT", (args, ctx) -> { assertArgCount(args, 1, "$SYS_DATE_OF_FORMAT"); return DateUtils.ofFormat(args.get(0)); });
         registry.register("$SYS_FULL_DATE_PLUS_MINUTES", (args, ctx) -> { assertArgCount(args, 1, "$SYS_FULL_DATE_PLUS_MINUTES"); return DateUtils.fullDatePlusMinutes(Integer.parseInt(args.get(0))); });
         registry.register("$SYS_SHORT_DATE_PLUS_DAYS", (args, ctx) -> { assertArgCount(args, 1, "$SYS_SHORT_DATE_PLUS_DAYS"); return DateUtils.shortDatePlusDays(Integer.parseInt(args.get(0))); });
         registry.register("$SYS_SHORT_DATE_MINUS_DAYS", (args, ctx) -> { assertArgCount(args, 1, "$SYS_SHORT_DATE_MINUS_DAYS"); return DateUtils.shortDateMinusDays(Integer.parseInt(args.get(0))); });
         registry.register("$SYS_FULL_DATE_MINUS_MINUTES", (args, ctx) -> { assertArgCount(args, 1, "$SYS_FULL_DATE_MINUS_MINUTES"); return DateUtils.fullDateMinusMinutes(Integer.parseInt(args.get(0))); });
-        registry.register("$FORMAT_STRING_DATE", (args, ctx) -> { assertArgCount(args, 3, "$FORMAT_STRING_DATE"); return DateUtils.reformatDate(args.get(0), args.get(1), args.get(2)); });
-        registry.register("$UUID_FROM_STRINGS", (args, ctx) -> { assertMinArgs(args, 1, "$UUID_FROM_STRINGS"); return UUID.nameUUIDFromBytes(String.join("", args).getBytes(StandardCharsets.UTF_8)).toString(); });
-        registry.register("$MERGE_VALUES", (args, ctx) -> { assertMinArgs(args, 1, "$MERGE_VALUES"); return String.join("", args); });
-        registry.register("$REMOVE_DASHES", (args, ctx) -> { assertMinArgs(args, 1, "$REMOVE_DASHES"); return String.join("", args).replace("-", ""); });
+        registry.registerPure("$FORMAT_STRING_DATE", (args, ctx) -> { assertArgCount(args, 3, "$FORMAT_STRING_DATE"); return DateUtils.reformatDate(args.get(0), args.get(1), args.get(2)); });
+        registry.registerPure("$UUID_FROM_STRINGS", (args, ctx) -> { assertMinArgs(args, 1, "$UUID_FROM_STRINGS"); return UUID.nameUUIDFromBytes(String.join("", args).getBytes(StandardCharsets.UTF_8)).toString(); });
+        registry.registerPure("$MERGE_VALUES", (args, ctx) -> { assertMinArgs(args, 1, "$MERGE_VALUES"); return String.join("", args); });
+        registry.registerPure("$REMOVE_DASHES", (args, ctx) -> { assertMinArgs(args, 1, "$REMOVE_DASHES"); return String.join("", args).replace("-", ""); });
         registry.register("$LAST_MATCHED_RECORD", (args, ctx) -> { assertArgCount(args, 1, "$LAST_MATCHED_RECORD"); ObjectNode record = ctx.get(ContextKey.LAST_MATCHED_RECORD, ObjectNode.class); return JsonPathResolver.resolve(record, args.get(0)).asText(); });
         registry.register("$RANDOM_STRING_OF_LENGTH", (args, ctx) -> {
             assertArgCount(args, 1, "$RANDOM_STRING_OF_LENGTH");
             int length = Integer.parseInt(args.get(0));
-            Random random = new Random();
+            Random random = RandomSource.current();
             StringBuilder sb = new StringBuilder(length);
             for (int i = 0; i < length; i++) sb.append((char) ('a' + random.nextInt(26)));
             return sb.toString();
@@ -74,7 +86,7 @@ public class BuiltInFunctions {
             }
             return result.substring(0, Math.min(result.length(), totalLength));
         });
-        registry.register("$STRING_SPLIT", (args, ctx) -> {
+        registry.registerPure("$STRING_SPLIT", (args, ctx) -> {
             assertArgCount(args, 3, "$STRING_SPLIT");
             int numGroups = Integer.parseInt(args.get(0));
             String separator = args.get(1);
@@ -87,7 +99,7 @@ public class BuiltInFunctions {
             }
             return result.toString();
         });
-        registry.register("$CAPITALIZE", (args, ctx) -> {
+        registry.registerPure("$CAPITALIZE", (args, ctx) -> {
             assertArgCount(args, 1, "$CAPITALIZE");
             String[] words = args.get(0).split(" ");
             StringBuilder result = new StringBuilder();
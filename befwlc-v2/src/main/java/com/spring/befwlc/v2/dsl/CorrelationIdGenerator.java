@@ -0,0 +1,63 @@
+package com.spring.befwlc.v2.dsl;
+
+import com.spring.befwlc.v2.config.DslProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Issues correlation ids that never repeat within a run: a start value plus one shared counter, so
+ * ids are increasing and need no entropy. Each id is written as the 8 hex digits of a beneficiary
+ * id or as a transaction sequence of at most 9 digits, the formats the publish steps always used.
+ *
+ * <p>The id space is split into 256 ranges of about 3.9 million ids, one per node id, so parallel
+ * runs on different nodes draw from different ids. The start within the range moves a thousand ids
+ * per second of wall-clock time and wraps after about 65 minutes: runs on one node started further
+ * apart than that, or issuing more than a thousand ids per second between their starts, can reuse ids.
+ * With {@code dsl.random-seed} set both the start and, unless {@code dsl.node-id} is set, the node
+ * come from the seed, so a sequential run repeats its ids; with parallel scenarios the order they
+ * are handed out still varies.
+ */
+@Slf4j
+@Component
+public class CorrelationIdGenerator {
+    private static final long MIN_SEQUENCE = 1000;
+    private static final long SEQUENCES = 999_999_999L - MIN_SEQUENCE + 1;
+    private static final int NODES = 256;
+    private static final long NODE_RANGE = SEQUENCES / NODES;
+
+    private final long start;
+    private final AtomicLong counter = new AtomicLong();
+
+    public CorrelationIdGenerator(DslProperties dslProperties) {
+        Long seed = dslProperties.getRandomSeed();
+        int node = Math.floorMod(dslProperties.getNodeId() != null ? dslProperties.getNodeId()
+                : seed != null ? Long.hashCode(seed) : defaultNodeId(), NODES);
+        long offset = seed != null
+                ? Math.floorMod(seed, NODE_RANGE)
+                // A thousand ids per second between runs before two runs on one node overlap
+                : Math.floorMod(System.currentTimeMillis() / 1000 * 1000, NODE_RANGE);
+        this.start = node * NODE_RANGE + offset;
+        log.info("Correlation ids start at {} (node {})", start, node);
+    }
+
+    public long next() {
+        return Math.floorMod(start + counter.getAndIncrement(), SEQUENCES);
+    }
+
+    public static String beneficiaryId(long id) {
+        String hex = Long.toHexString(id);
+        return "00000000".substring(hex.length()) + hex;
+    }
+
+    public static String transactionSequence(long id) {
+        return String.valueOf(MIN_SEQUENCE + id);
+    }
+
+    private static int defaultNodeId() {
+        // "pid@host", so separate JVMs on one host differ as well
+        return ManagementFactory.getRuntimeMXBean().getName().hashCode();
+    }
+}
@@ -0,0 +1,91 @@
+package com.spring.befwlc.v2.dsl;
+
+import com.spring.befwlc.v2.context.ScenarioContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses a data table value into a tree of function calls. {@code $NAME(a,b)} is a call whose
+ * arguments are split on the commas outside nested calls and parsed the same way; any other value
+ * starting with {@code $NAME} names a function without arguments; everything else is literal.
+ *
+ * <p>A call to a pure function whose arguments are all constant is evaluated while compiling, so
+ * evaluating the tree later only runs the calls that depend on the clock, randomness or the scenario.
+ */
+final class DslCompiler {
+    private final DslRegistry registry;
+
+    DslCompiler(DslRegistry registry) {
+        this.registry = registry;
+    }
+
+    DslExpression compile(String input, ScenarioContext context) {
+        int nameEnd = nameEnd(input, 0);
+        if (nameEnd < 0) return new DslExpression.Literal(input);
+
+        if (nameEnd < input.length() && input.charAt(nameEnd) == '(' && input.endsWith(")")) {
+            List<DslExpression> args = new ArrayList<>();
+            for (String arg : splitArguments(input.substring(nameEnd + 1, input.length() - 1))) {
+                args.add(compile(arg.trim(), context));
+            }
+            return call(input.substring(0, nameEnd), args, context);
+        }
+        return call(input, List.of(), context);
+    }
+
+    private DslExpression call(String name, List<DslExpression> args, ScenarioContext context) {
+        DslExpression call = new DslExpression.Call(registry.get(name), args);
+        if (!registry.isPure(name)) return call;
+        for (DslExpression arg : args) {
+            if (!arg.isConstant()) return call;
+        }
+        return new DslExpression.Literal(call.evaluate(context));
+    }
+
+    /** Comma-separated arguments, keeping nested calls whole; empty pieces are dropped as before. */
+    private static List<String> splitArguments(String args) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int i = 0;
+        while (i < args.length()) {
+            char c = args.charAt(i);
+            if (c == '$') {
+                int nameEnd = nameEnd(args, i);
+                if (nameEnd > 0 && nameEnd < args.length() && args.charAt(nameEnd) == '(') {
+                    i = skipParentheses(args, nameEnd);
+                    continue;
+                }
+            } else if (c == ',') {
+                if (i > start) parts.add(args.substring(start, i));
+                start = i + 1;
+            }
+            i++;
+        }
+        if (args.length() > start) parts.add(args.substring(start));
+        return parts;
+    }
+
+    /** End of the {@code $NAME} starting at {@code from}, or -1 when there is none. */
+    private static int nameEnd(String input, int from) {
+        if (from >= input.length() || input.charAt(from) != '$') return -1;
+        int i = from + 1;
+        while (i < input.length() && isNameChar(input.charAt(i))) i++;
+        return i > from + 1 ? i : -1;
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    /** Index just past the parenthesis closing the one at {@code open}, or the end of the input. */
+    private static int skipParentheses(String input, int open) {
+        int depth = 0;
+        for (int i = open; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == '(') depth++;
+            else if (c == ')' && --depth == 0) return i + 1;
+        }
+        return input.length();
+    }
+}
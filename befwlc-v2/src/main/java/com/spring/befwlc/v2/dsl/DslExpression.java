@@ -0,0 +1,55 @@
+package com.spring.befwlc.v2.dsl;
+
+import com.spring.befwlc.v2.context.ScenarioContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A data table value compiled by {@link DslCompiler}: either fixed text or a function call over nested expressions. */
+interface DslExpression {
+
+    String evaluate(ScenarioContext context);
+
+    /** Whether {@link #evaluate} returns the same text for every context and every call. */
+    boolean isConstant();
+
+    final class Literal implements DslExpression {
+        private final String value;
+
+        Literal(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String evaluate(ScenarioContext context) {
+            return value;
+        }
+
+        @Override
+        public boolean isConstant() {
+            return true;
+        }
+    }
+
+    final class Call implements DslExpression {
+        private final DslFunction function;
+        private final List<DslExpression> args;
+
+        Call(DslFunction function, List<DslExpression> args) {
+            this.function = function;
+            this.args = args;
+        }
+
+        @Override
+        public String evaluate(ScenarioContext context) {
+            List<String> resolvedArgs = new ArrayList<>(args.size());
+            for (DslExpression arg : args) resolvedArgs.add(arg.evaluate(context));
+            return function.apply(resolvedArgs, context);
+        }
+
+        @Override
+        public boolean isConstant() {
+            return false;
+        }
+    }
+}
@@ -5,28 +5,43 @@ import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+/**
+ * Functions by name, published as immutable snapshots. Lookups read the current snapshot without
+ * locking; registering copies it and swaps the copy in, so functions can be added while scenarios
+ * resolve values on other threads.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DslRegistry {
-    private final Map<String, DslFunction> functions = new LinkedHashMap<>();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(new Snapshot(Map.of(), Set.of(), 0));
     private final BuiltInFunctions builtInFunctions;
 
     @PostConstruct
     void init() {
         builtInFunctions.registerAll(this);
-        log.info("DSL Registry initialized with {} functions", functions.size());
+        log.info("DSL Registry initialized with {} functions", snapshot.get().functions.size());
     }
 
     public void register(String name, DslFunction function) {
-        functions.put(name, function);
+        register(name, function, false);
+    }
+
+    /** Registers a function whose result depends only on its arguments, so calls with constant arguments are folded once. */
+    public void registerPure(String name, DslFunction function) {
+        register(name, function, true);
     }
 
     public DslFunction get(String name) {
+        Map<String, DslFunction> functions = snapshot.get().functions;
         DslFunction fn = functions.get(name);
         if (fn == null) {
             String available = functions.keySet().stream().sorted().collect(Collectors.joining("\n  "));
@@ -35,5 +50,33 @@ public class DslRegistry {
         return fn;
     }
 
-    public boolean contains(String name) { return functions.containsKey(name); }
+    public boolean contains(String name) { return snapshot.get().functions.containsKey(name); }
+
+    public boolean isPure(String name) { return snapshot.get().pureFunctions.contains(name); }
+
+    /** Changes whenever a function is registered. */
+    public int version() { return snapshot.get().version; }
+
+    private void register(String name, DslFunction function, boolean pure) {
+        snapshot.updateAndGet(current -> {
+            Map<String, DslFunction> functions = new LinkedHashMap<>(current.functions);
+            functions.put(name, function);
+            Set<String> pureFunctions = new HashSet<>(current.pureFunctions);
+            if (pure) pureFunctions.add(name);
+            else pureFunctions.remove(name);
+            return new Snapshot(Collections.unmodifiableMap(functions), Collections.unmodifiableSet(pureFunctions), current.version + 1);
+        });
+    }
+
+    private static final class Snapshot {
+        private final Map<String, DslFunction> functions;
+        private final Set<String> pureFunctions;
+        private final int version;
+
+        private Snapshot(Map<String, DslFunction> functions, Set<String> pureFunctions, int version) {
+            this.functions = functions;
+            this.pureFunctions = pureFunctions;
+            this.version = version;
+        }
+    }
 }
@@ -1,37 +1,49 @@
 package com.spring.befwlc.v2.dsl;
 
 import com.spring.befwlc.v2.context.ScenarioContext;
-import com.spring.befwlc.v2.util.RegexUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
-import java.util.ArrayList;
-import java.util.List;
-import static com.spring.befwlc.v2.util.RegexUtils.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Resolves data table values through the DSL. Each distinct value is compiled once by
+ * {@link DslCompiler} and cached, so resolving it again only evaluates its non-constant calls.
+ */
 @Component
 @RequiredArgsConstructor
 public class DslResolver {
+    // Data tables hold a bounded set of values; the cap only guards against generated input
+    private static final int MAX_CACHED_EXPRESSIONS = 10_000;
+
     private final DslRegistry registry;
+    private volatile CompiledExpressions compiled = new CompiledExpressions(-1);
 
     public String resolve(String input, ScenarioContext context) {
         if (input == null) return "null";
 
-        if (RegexUtils.matches(input, CALLABLE_METHOD_PATTERN)) {
-            String methodName = RegexUtils.captureSingle(input, CALLABLE_METHOD_NAME);
-            String argsStr = input.substring(methodName.length() + 1, input.length() - 1);
-            List<String> rawArgs = RegexUtils.captureAll(argsStr, CALLABLE_METHOD_ARGS);
-            List<String> resolvedArgs = new ArrayList<>();
-            for (String arg : rawArgs) resolvedArgs.add(resolve(arg.trim(), context));
-            String cleanName = "$" + methodName.substring(1, methodName.length() - 1);
-            DslFunction fn = registry.get(cleanName);
-            return fn.apply(resolvedArgs, context);
+        // Registering a function changes what names resolve to, so compiled trees are dropped
+        CompiledExpressions cache = compiled;
+        int version = registry.version();
+        if (cache.version != version) {
+            cache = new CompiledExpressions(version);
+            compiled = cache;
         }
 
-        if (RegexUtils.matches(input, STATIC_METHOD_PATTERN)) {
-            DslFunction fn = registry.get(input);
-            return fn.apply(List.of(), context);
+        DslExpression expression = cache.expressions.get(input);
+        if (expression == null) {
+            expression = new DslCompiler(registry).compile(input, context);
+            if (cache.expressions.size() < MAX_CACHED_EXPRESSIONS) cache.expressions.put(input, expression);
         }
+        return expression.evaluate(context);
+    }
 
-        return input;
+    private static final class CompiledExpressions {
+        private final int version;
+        private final Map<String, DslExpression> expressions = new ConcurrentHashMap<>();
+
+        private CompiledExpressions(int version) {
+            this.version = version;
+        }
     }
 }
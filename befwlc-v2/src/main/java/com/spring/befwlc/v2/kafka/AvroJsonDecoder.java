@@ -0,0 +1,274 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.exception.TestExecutionException;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes Confluent-framed Avro payloads straight into Jackson trees, without building a
+ * {@code GenericRecord} and re-parsing its {@code toString()}. The tree is the same one
+ * {@code readTree(record.toString())} produced, so filter paths and values are unchanged.
+ * The reader for each writer schema is built once and cached by schema id.
+ *
+ * <p>A payload can also be decoded partially, for a set of paths relative to the message root.
+ * Fields outside those paths are skipped over without building nodes; see {@link LazyMessage}.
+ */
+@Slf4j
+@Component
+public class AvroJsonDecoder {
+    private static final byte MAGIC_BYTE = 0x0;
+    private static final int PREFIX_LENGTH = 5;
+
+    private final SchemaRegistryClient schemaRegistryClient;
+    private final JsonNodeFactory nodes;
+    private final Map<Integer, NodeReader> readers = new ConcurrentHashMap<>();
+    private final Map<String, NodeReader> projectedReaders = new ConcurrentHashMap<>();
+
+    public AvroJsonDecoder(SchemaRegistryClient schemaRegistryClient, ObjectMapper objectMapper) {
+        this.schemaRegistryClient = schemaRegistryClient;
+        this.nodes = objectMapper.getNodeFactory();
+    }
+
+    public JsonNode decode(byte[] payload) throws IOException {
+        int schemaId = schemaId(payload);
+        return readerFor(schemaId).read(decoder(payload));
+    }
+
+    /**
+     * Wraps the payload for on-demand decoding. Only the frame is checked here; the schema is
+     * fetched on the first projection.
+     */
+    public LazyMessage lazy(byte[] payload) {
+        return new LazyMessage(this, schemaId(payload), payload);
+    }
+
+    /**
+     * Decodes only the given dot paths, relative to the message root and without array indexes.
+     * A path ending at a record, array or map decodes that whole subtree.
+     */
+    JsonNode decode(int schemaId, byte[] payload, Collection<String> paths) throws IOException {
+        String key = schemaId + ":" + String.join(",", paths);
+        NodeReader reader = projectedReaders.get(key);
+        if (reader == null) {
+            reader = compile(fetchSchema(schemaId), Projection.of(paths), new HashMap<>());
+            NodeReader existing = projectedReaders.putIfAbsent(key, reader);
+            if (existing != null) reader = existing;
+        }
+        return reader.read(decoder(payload));
+    }
+
+    private static int schemaId(byte[] payload) {
+        if (payload == null || payload.length < PREFIX_LENGTH || payload[0] != MAGIC_BYTE) {
+            throw new TestExecutionException("Payload is not in Confluent Avro wire format");
+        }
+        return ByteBuffer.wrap(payload, 1, 4).getInt();
+    }
+
+    private static BinaryDecoder decoder(byte[] payload) {
+        return DecoderFactory.get().binaryDecoder(payload, PREFIX_LENGTH, payload.length - PREFIX_LENGTH, null);
+    }
+
+    private NodeReader readerFor(int schemaId) throws IOException {
+        NodeReader reader = readers.get(schemaId);
+        if (reader != null) return reader;
+
+        Schema schema = fetchSchema(schemaId);
+        reader = compile(schema, null, new HashMap<>());
+        log.debug("Compiled Avro reader for schema {} (id={})", schema.getFullName(), schemaId);
+        NodeReader existing = readers.putIfAbsent(schemaId, reader);
+        return existing != null ? existing : reader;
+    }
+
+    private Schema fetchSchema(int schemaId) throws IOException {
+        try {
+            ParsedSchema parsed = schemaRegistryClient.getSchemaById(schemaId);
+            if (!(parsed instanceof AvroSchema avroSchema)) {
+                throw new TestExecutionException("Schema id %d is not an Avro schema", schemaId);
+            }
+            return avroSchema.rawSchema();
+        } catch (RestClientException e) {
+            throw new TestExecutionException("Failed to fetch schema id %d: %s", schemaId, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds the reader for a schema. A {@code null} projection reads everything; otherwise record
+     * fields outside the projection are skipped, and unions and arrays pass it on to what they contain.
+     */
+    private NodeReader compile(Schema schema, Projection projection, Map<String, RecordReader> records) {
+        return switch (schema.getType()) {
+            case RECORD -> compileRecord(schema, projection, records);
+            case UNION -> {
+                List<Schema> types = schema.getTypes();
+                NodeReader[] branches = new NodeReader[types.size()];
+                for (int i = 0; i < branches.length; i++) branches[i] = compile(types.get(i), projection, records);
+                yield in -> branches[in.readIndex()].read(in);
+            }
+            case ARRAY -> {
+                NodeReader items = compile(schema.getElementType(), projection, records);
+                yield in -> {
+                    ArrayNode array = nodes.arrayNode();
+                    for (long n = in.readArrayStart(); n != 0; n = in.arrayNext()) {
+                        for (long i = 0; i < n; i++) array.add(items.read(in));
+                    }
+                    return array;
+                };
+            }
+            case MAP -> {
+                NodeReader values = compile(schema.getValueType(), null, records);
+                yield in -> {
+                    ObjectNode map = nodes.objectNode();
+                    for (long n = in.readMapStart(); n != 0; n = in.mapNext()) {
+                        for (long i = 0; i < n; i++) map.set(in.readString(), values.read(in));
+                    }
+                    return map;
+                };
+            }
+            case ENUM -> {
+                List<String> symbols = schema.getEnumSymbols();
+                yield in -> nodes.textNode(symbols.get(in.readEnum()));
+            }
+            case FIXED -> {
+                int size = schema.getFixedSize();
+                yield in -> {
+                    byte[] bytes = new byte[size];
+                    in.readFixed(bytes);
+                    ArrayNode array = nodes.arrayNode(size);
+                    for (byte b : bytes) array.add((int) b);
+                    return array;
+                };
+            }
+            case STRING -> in -> nodes.textNode(in.readString());
+            case BYTES -> in -> {
+                ByteBuffer bytes = in.readBytes(null);
+                return nodes.textNode(new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), StandardCharsets.ISO_8859_1));
+            };
+            case INT -> in -> nodes.numberNode(in.readInt());
+            case LONG -> in -> {
+                long value = in.readLong();
+                return value == (int) value ? nodes.numberNode((int) value) : nodes.numberNode(value);
+            };
+            case FLOAT -> in -> {
+                float value = in.readFloat();
+                return Float.isFinite(value) ? nodes.numberNode(Double.parseDouble(Float.toString(value))) : nodes.textNode(Float.toString(value));
+            };
+            case DOUBLE -> in -> {
+                double value = in.readDouble();
+                return Double.isFinite(value) ? nodes.numberNode(value) : nodes.textNode(Double.toString(value));
+            };
+            case BOOLEAN -> in -> nodes.booleanNode(in.readBoolean());
+            case NULL -> in -> {
+                in.readNull();
+                return nodes.nullNode();
+            };
+        };
+    }
+
+    private NodeReader compileRecord(Schema schema, Projection projection, Map<String, RecordReader> records) {
+        // Only full readers are shared, which is what keeps recursive schemas finite; projections are finite anyway
+        if (projection == null) {
+            RecordReader existing = records.get(schema.getFullName());
+            if (existing != null) return existing;
+        }
+
+        List<Schema.Field> fields = schema.getFields();
+        RecordReader reader = new RecordReader(fields.size(), projection == null ? fields.size() : projection.size());
+        if (projection == null) records.put(schema.getFullName(), reader);
+        for (int i = 0; i < fields.size(); i++) {
+            Schema.Field field = fields.get(i);
+            reader.names[i] = field.name();
+            if (projection == null || projection.includes(field.name())) {
+                reader.fields[i] = compile(field.schema(), projection == null ? null : projection.child(field.name()), records);
+            } else {
+                Schema skipped = field.schema();
+                reader.fields[i] = in -> {
+                    GenericDatumReader.skip(skipped, in);
+                    return null;
+                };
+            }
+        }
+        return reader;
+    }
+
+    /** Reads one value; returns {@code null} when the value was skipped. */
+    @FunctionalInterface
+    private interface NodeReader {
+        JsonNode read(Decoder in) throws IOException;
+    }
+
+    /** Field names to decode under a record. A field mapped to {@code null} is decoded whole. */
+    private static final class Projection {
+        private final Map<String, Projection> fields = new HashMap<>();
+
+        static Projection of(Collection<String> paths) {
+            Projection root = new Projection();
+            for (String path : paths) {
+                Projection current = root;
+                String[] names = path.split("\\.");
+                for (int i = 0; i < names.length && current != null; i++) {
+                    if (i == names.length - 1) {
+                        current.fields.put(names[i], null);
+                    } else if (!current.fields.containsKey(names[i])) {
+                        current.fields.put(names[i], new Projection());
+                        current = current.fields.get(names[i]);
+                    } else {
+                        current = current.fields.get(names[i]);
+                    }
+                }
+            }
+            return root;
+        }
+
+        boolean includes(String name) { return fields.containsKey(name); }
+
+        int size() { return fields.size(); }
+
+        Projection child(String name) { return fields.get(name); }
+    }
+
+    private final class RecordReader implements NodeReader {
+        private final String[] names;
+        private final NodeReader[] fields;
+        private final int capacity;
+
+        private RecordReader(int fieldCount, int decodedCount) {
+            this.names = new String[fieldCount];
+            this.fields = new NodeReader[fieldCount];
+            this.capacity = (int) (decodedCount / 0.75f) + 1;
+        }
+
+        @Override
+        public JsonNode read(Decoder in) throws IOException {
+            ObjectNode record = new ObjectNode(nodes, new LinkedHashMap<>(capacity));
+            for (int i = 0; i < fields.length; i++) {
+                JsonNode value = fields[i].read(in);
+                if (value != null) record.set(names[i], value);
+            }
+            return record;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.matching.CompiledPath;
+import com.spring.befwlc.v2.matching.JsonPathResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Sequences of stored envelopes grouped by correlation value: the text found at any of the
+ * configured paths, such as the {@code receivingPartyName} a scenario generated before publishing.
+ * An envelope carrying several correlation values belongs to each of their partitions.
+ */
+final class CorrelationPartitions {
+    private final List<CompiledPath> paths = new ArrayList<>();
+    private final Map<String, NavigableSet<Long>> partitions = new ConcurrentHashMap<>();
+
+    CorrelationPartitions(List<String> correlationPaths) {
+        for (String path : correlationPaths) paths.add(JsonPathResolver.compile(path.trim()));
+    }
+
+    void add(long sequence, ObjectNode record) {
+        for (CompiledPath path : paths) {
+            String value = valueAt(path, record);
+            if (value == null) continue;
+            // Added inside compute so it cannot land in a set that remove() is dropping
+            partitions.compute(value, (v, partition) -> {
+                NavigableSet<Long> sequences = partition != null ? partition : new ConcurrentSkipListSet<>();
+                sequences.add(sequence);
+                return sequences;
+            });
+        }
+    }
+
+    /** Drops the sequence from the record's partitions, and a partition once it is empty. */
+    void remove(long sequence, ObjectNode record) {
+        for (CompiledPath path : paths) {
+            String value = valueAt(path, record);
+            if (value == null) continue;
+            partitions.computeIfPresent(value, (v, partition) -> {
+                partition.remove(sequence);
+                return partition.isEmpty() ? null : partition;
+            });
+        }
+    }
+
+    boolean carriesAny(ObjectNode record, Collection<String> keys) {
+        for (CompiledPath path : paths) {
+            String value = valueAt(path, record);
+            if (value != null && keys.contains(value)) return true;
+        }
+        return false;
+    }
+
+    /** Sequences in {@code (after, upTo]} across the given partitions, oldest first and without duplicates. */
+    List<Long> sequences(Collection<String> keys, long after, long upTo) {
+        NavigableSet<Long> merged = new TreeSet<>();
+        for (String key : keys) {
+            NavigableSet<Long> partition = partitions.get(key);
+            if (partition != null) merged.addAll(partition.subSet(after, false, upTo, true));
+        }
+        return new ArrayList<>(merged);
+    }
+
+    /** Forgets the given partitions and returns the sequences they held. */
+    List<Long> release(Collection<String> keys) {
+        NavigableSet<Long> released = new TreeSet<>();
+        for (String key : keys) {
+            NavigableSet<Long> partition = partitions.remove(key);
+            if (partition != null) released.addAll(partition);
+        }
+        return new ArrayList<>(released);
+    }
+
+    /** The paths, for the lazy decoder to project on arrival. */
+    List<String> paths() {
+        return paths.stream().map(CompiledPath::toString).toList();
+    }
+
+    void clear() {
+        partitions.clear();
+    }
+
+    private static String valueAt(CompiledPath path, ObjectNode record) {
+        JsonNode node = path.resolve(record);
+        if (node.isMissingNode() || node.isNull() || node.isContainerNode()) return null;
+        String value = node.asText();
+        return value.isEmpty() ? null : value;
+    }
+}
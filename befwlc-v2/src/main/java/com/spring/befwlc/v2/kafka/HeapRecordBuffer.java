@@ -0,0 +1,55 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/** Keeps the envelopes as they were stored, so the store hands out the same instances every time. */
+final class HeapRecordBuffer implements RecordBuffer {
+    private final NavigableMap<Long, ObjectNode> records = new ConcurrentSkipListMap<>();
+    private final Map<ObjectNode, Long> sequences = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    @Override
+    public long put(long sequence, ObjectNode record) {
+        records.put(sequence, record);
+        sequences.put(record, sequence);
+        return RecordSizeEstimator.estimate(record);
+    }
+
+    @Override
+    public ObjectNode get(long sequence) { return records.get(sequence); }
+
+    @Override
+    public Long sequenceOf(ObjectNode record) { return sequences.get(record); }
+
+    @Override
+    public boolean remove(long sequence) {
+        ObjectNode record = records.remove(sequence);
+        if (record == null) return false;
+        sequences.remove(record);
+        return true;
+    }
+
+    @Override
+    public Map.Entry<Long, ObjectNode> first() { return records.firstEntry(); }
+
+    @Override
+    public List<ObjectNode> range(long after, long upTo) {
+        return new ArrayList<>(records.subMap(after, false, upTo, true).values());
+    }
+
+    @Override
+    public List<ObjectNode> all() { return new ArrayList<>(records.values()); }
+
+    @Override
+    public void clear() {
+        records.clear();
+        sequences.clear();
+    }
+}
@@ -3,7 +3,6 @@ package com.spring.befwlc.v2.kafka;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.spring.befwlc.v2.exception.TestExecutionException;
-import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -18,7 +17,7 @@ import static com.spring.befwlc.v2.kafka.KafkaConstants.*;
 @Component
 @RequiredArgsConstructor
 public class KafkaMessageListener {
-    private final KafkaAvroDeserializer avroDeserializer;
+    private final AvroJsonDecoder avroJsonDecoder;
     private final ObjectMapper objectMapper;
     private final KafkaMessageStore messageStore;
 
@@ -30,8 +29,14 @@ public class KafkaMessageListener {
             envelope.put(PARTITION, record.partition());
             envelope.put(OFFSET, record.offset());
             envelope.put(TIMESTAMP, record.timestamp());
-            Object deserialized = avroDeserializer.deserialize(record.topic(), record.value());
-            envelope.set(MESSAGE, objectMapper.readTree(deserialized.toString()));
+            LazyMessage lazyMessage = null;
+            if (messageStore.isLazy()) {
+                // Placeholder keeps the field order; the store swaps in decoded projections
+                envelope.putObject(MESSAGE);
+                lazyMessage = avroJsonDecoder.lazy(record.value());
+            } else {
+                envelope.set(MESSAGE, avroJsonDecoder.decode(record.value()));
+            }
             ObjectNode headers = objectMapper.createObjectNode();
             for (Header header : record.headers()) {
                 byte[] bytes = header.value();
@@ -39,7 +44,7 @@ public class KafkaMessageListener {
                 headers.put(header.key(), value);
             }
             envelope.set(HEADERS, headers);
-            messageStore.add(envelope);
+            messageStore.add(envelope, lazyMessage);
             log.debug("Stored message from topic={} offset={}", record.topic(), record.offset());
         } catch (Exception e) {
             log.error("Failed to deserialize Kafka record from topic '{}' at offset {}", record.topic(), record.offset(), e);
@@ -1,17 +1,336 @@
 package com.spring.befwlc.v2.kafka;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.config.KafkaProperties;
+import com.spring.befwlc.v2.exception.TestExecutionException;
+import com.spring.befwlc.v2.matching.JsonPathResolver;
+import com.spring.befwlc.v2.matching.MessageFilter;
+import com.spring.befwlc.v2.matching.MessageFilterSet;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
+import static com.spring.befwlc.v2.kafka.KafkaConstants.TIMESTAMP;
+
+/**
+ * Envelopes received by the listener, keyed by a monotonic sequence number assigned on arrival.
+ * Sequence numbers are never reused, also not across {@link #clear()}, so a {@link MessageCursor}
+ * stays valid for the lifetime of the store.
+ *
+ * <p>In lazy mode envelopes are stored with a {@link LazyMessage} instead of a decoded
+ * {@code Message}. The paths a filter set reads are decoded when its candidates are handed out,
+ * and a record is decoded in full once it is removed as a match.
+ *
+ * <p>The store can be capped by record count, record age (the envelope {@code Timestamp}) and
+ * estimated retained bytes. Caps are enforced on arrival by evicting the oldest envelopes; an
+ * await that times out after envelopes stored during it were evicted warns that its match may be gone.
+ *
+ * <p>In off-heap mode envelopes are kept serialized outside the Java heap and decoded whenever
+ * they are handed out, so a long run does not fill the old generation with retained trees.
+ * Every read returns new instances; the retained bytes counted are the serialized ones.
+ *
+ * <p>With correlation paths configured, envelopes are also partitioned by the values found at
+ * those paths. Scenarios running in parallel pass the correlation keys they generated, only see
+ * their own partitions, and {@link #release(Collection)} them afterwards instead of clearing the
+ * whole store. Envelopes without a correlation value, or whose keys no scenario releases, are
+ * left to the caps, so correlation requires a record count or age cap.
+ */
+@Slf4j
 @Component
 public class KafkaMessageStore {
-    private final List<ObjectNode> records = new CopyOnWriteArrayList<>();
-    public void add(ObjectNode record) { records.add(record); }
-    public List<ObjectNode> getAll() { return new ArrayList<>(records); }
-    public boolean remove(ObjectNode record) { return records.remove(record); }
-    public void clear() { records.clear(); }
-    public int size() { return records.size(); }
+    private final RecordBuffer records;
+    private final MessageIndex index;
+    private final CorrelationPartitions correlation;
+    private final Map<Long, LazyMessage> lazyMessages = new ConcurrentHashMap<>();
+    private final boolean lazy;
+    private final Set<String> eagerMessagePaths;
+    private final List<Consumer<ObjectNode>> arrivalListeners = new CopyOnWriteArrayList<>();
+    private volatile long lastSequence;
+
+    private final int maxRecords;
+    private final long maxAgeMillis;
+    private final long maxBytes;
+    private final Map<Long, Long> retainedSizes = new ConcurrentHashMap<>();
+    private final AtomicInteger retainedRecords = new AtomicInteger();
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private volatile long evictedThrough;
+    // Guarded by this
+    private long evictedByCount;
+    private long evictedByAge;
+    private long evictedByBytes;
+    private int highWaterRecords;
+    private long highWaterBytes;
+
+    public KafkaMessageStore(KafkaProperties kafkaProperties) {
+        KafkaProperties.Store store = kafkaProperties.getStore();
+        this.index = store.isIndexed() ? new MessageIndex(store.getIndexedPaths()) : null;
+        if (index != null) log.info("Kafka message store indexing paths {}", store.getIndexedPaths());
+        this.records = store.isOffHeap() ? new OffHeapRecordBuffer(store.getOffHeapSegmentBytes()) : new HeapRecordBuffer();
+        if (store.isOffHeap()) log.info("Kafka message store keeping envelopes off-heap in {} byte segments", store.getOffHeapSegmentBytes());
+        if (store.isOffHeap() && store.isLazy()) log.warn("Lazy decoding does not apply to an off-heap Kafka message store and is ignored");
+        this.lazy = store.isLazy() && !store.isOffHeap();
+        if (!store.getCorrelationPaths().isEmpty() && store.getMaxRecords() <= 0 && store.getMaxAgeSeconds() <= 0) {
+            // Only released partitions are ever dropped, so without a cap the rest would pile up for the whole run
+            throw new TestExecutionException("kafka.store.correlation-paths needs kafka.store.max-records or kafka.store.max-age-seconds to be set");
+        }
+        this.correlation = store.getCorrelationPaths().isEmpty() ? null : new CorrelationPartitions(store.getCorrelationPaths());
+        if (correlation != null) log.info("Kafka message store partitioning by correlation paths {}", store.getCorrelationPaths());
+        List<String> eagerPaths = new ArrayList<>();
+        if (index != null) eagerPaths.addAll(store.getIndexedPaths());
+        if (correlation != null) eagerPaths.addAll(correlation.paths());
+        this.eagerMessagePaths = messagePaths(eagerPaths);
+        if (lazy) log.info("Kafka message store decoding messages lazily");
+        this.maxRecords = store.getMaxRecords();
+        this.maxAgeMillis = store.getMaxAgeSeconds() * 1000;
+        this.maxBytes = store.getMaxBytes();
+        if (isBounded()) {
+            log.info("Kafka message store capped at maxRecords={}, maxAgeSeconds={}, maxBytes={}",
+                    maxRecords, store.getMaxAgeSeconds(), maxBytes);
+        }
+    }
+
+    public void add(ObjectNode record) {
+        add(record, null);
+    }
+
+    /**
+     * Stores an envelope whose {@code Message} is decoded on demand from the given payload.
+     * Paths the index and the correlation partitions need are decoded straight away.
+     */
+    public void add(ObjectNode record, LazyMessage message) {
+        if (message != null) message.project(record, eagerMessagePaths);
+        synchronized (this) {
+            // Published only after the record is visible, so a scan up to lastSequence never skips one
+            long sequence = lastSequence + 1;
+            if (message != null) lazyMessages.put(sequence, message);
+            long size = records.put(sequence, record) + (message != null ? message.payloadSize() : 0);
+            if (index != null) index.add(sequence, record);
+            if (correlation != null) correlation.add(sequence, record);
+            retainedSizes.put(sequence, size);
+            retainedRecords.incrementAndGet();
+            retainedBytes.addAndGet(size);
+            lastSequence = sequence;
+            if (isBounded()) evictBefore(sequence);
+            highWaterRecords = Math.max(highWaterRecords, retainedRecords.get());
+            highWaterBytes = Math.max(highWaterBytes, retainedBytes.get());
+        }
+        for (Consumer<ObjectNode> listener : arrivalListeners) {
+            try {
+                listener.accept(record);
+            } catch (Exception e) {
+                log.warn("Arrival listener failed for record at offset {}", record.get(KafkaConstants.OFFSET), e);
+            }
+        }
+    }
+
+    public void addArrivalListener(Consumer<ObjectNode> listener) { arrivalListeners.add(listener); }
+    public void removeArrivalListener(Consumer<ObjectNode> listener) { arrivalListeners.remove(listener); }
+
+    public List<ObjectNode> getAll() { return records.all(); }
+
+    /** All records in the given correlation partitions, or {@link #getAll()} when there are none to go by. */
+    public List<ObjectNode> getAll(Collection<String> correlationKeys) {
+        if (correlation == null || correlationKeys.isEmpty()) return getAll();
+        return fetch(correlation.sequences(correlationKeys, 0, lastSequence));
+    }
+
+    /**
+     * Records that can possibly satisfy the filter set. In indexed mode the exact-match filters
+     * on indexed paths narrow the result to a single bucket; otherwise this is {@link #getAll()}.
+     */
+    public List<ObjectNode> candidates(MessageFilterSet filterSet) {
+        return candidates(filterSet, List.of());
+    }
+
+    /** Like {@link #candidates(MessageFilterSet)}, limited to the given correlation partitions if any. */
+    public List<ObjectNode> candidates(MessageFilterSet filterSet, Collection<String> correlationKeys) {
+        return prepare(range(filterSet, correlationKeys, 0, lastSequence), filterSet);
+    }
+
+    /**
+     * Like {@link #candidates(MessageFilterSet)} but only for records stored after the cursor
+     * position. The cursor is moved past everything returned.
+     */
+    public List<ObjectNode> candidatesSince(MessageFilterSet filterSet, MessageCursor cursor) {
+        return candidatesSince(filterSet, cursor, List.of());
+    }
+
+    /** Like {@link #candidatesSince(MessageFilterSet, MessageCursor)}, limited to the given correlation partitions if any. */
+    public List<ObjectNode> candidatesSince(MessageFilterSet filterSet, MessageCursor cursor, Collection<String> correlationKeys) {
+        long upTo = lastSequence;
+        List<ObjectNode> result = range(filterSet, correlationKeys, cursor.position(), upTo);
+        cursor.advanceTo(upTo);
+        return prepare(result, filterSet);
+    }
+
+    /**
+     * Decodes what the filter set reads on lazily stored records, so the matcher can evaluate
+     * them. A no-op outside lazy mode. Returns the same list.
+     */
+    public List<ObjectNode> prepare(List<ObjectNode> records, MessageFilterSet filterSet) {
+        if (!lazy || records.isEmpty()) return records;
+        Set<String> paths = messagePaths(filterSet);
+        for (ObjectNode record : records) {
+            LazyMessage message = lazyMessage(record);
+            if (message != null) message.project(record, paths);
+        }
+        return records;
+    }
+
+    private LazyMessage lazyMessage(ObjectNode record) {
+        Long sequence = records.sequenceOf(record);
+        return sequence != null ? lazyMessages.get(sequence) : null;
+    }
+
+    private List<ObjectNode> range(MessageFilterSet filterSet, Collection<String> correlationKeys, long after, long upTo) {
+        if (after >= upTo) return List.of();
+        if (correlation != null && !correlationKeys.isEmpty()) {
+            return fetch(correlation.sequences(correlationKeys, after, upTo));
+        }
+        if (index != null) {
+            Map<String, String> exactValues = new LinkedHashMap<>();
+            for (MessageFilter filter : filterSet.getFilters()) {
+                if (filter.getPattern().isExact()) exactValues.put(filter.getKey(), filter.getExpectedValue());
+            }
+            Optional<List<Long>> narrowed = index.narrow(exactValues, after, upTo);
+            if (narrowed.isPresent()) return fetch(narrowed.get());
+        }
+        return records.range(after, upTo);
+    }
+
+    private List<ObjectNode> fetch(List<Long> sequences) {
+        List<ObjectNode> result = new ArrayList<>(sequences.size());
+        for (Long sequence : sequences) {
+            ObjectNode record = records.get(sequence);
+            if (record != null) result.add(record);
+        }
+        return result;
+    }
+
+    public boolean isIndexed() { return index != null; }
+
+    public boolean isLazy() { return lazy; }
+
+    public boolean isCorrelated() { return correlation != null; }
+
+    /** Whether the record carries one of the correlation keys; always true when there are none to go by. */
+    public boolean isInPartitions(ObjectNode record, Collection<String> correlationKeys) {
+        return correlation == null || correlationKeys.isEmpty() || correlation.carriesAny(record, correlationKeys);
+    }
+
+    /** Removes a record; a lazily stored one is decoded in full first, as it is about to be used. */
+    public boolean remove(ObjectNode record) {
+        Long sequence = records.sequenceOf(record);
+        if (sequence == null || !discard(sequence, record)) return false;
+        LazyMessage message = lazyMessages.remove(sequence);
+        if (message != null) message.decodeFully(record);
+        return true;
+    }
+
+    /** Drops a record unless something else already did; the caller handles its lazy message. */
+    private boolean discard(long sequence, ObjectNode record) {
+        if (!records.remove(sequence)) return false;
+        if (index != null) index.remove(sequence, record);
+        if (correlation != null) correlation.remove(sequence, record);
+        Long size = retainedSizes.remove(sequence);
+        if (size != null) retainedBytes.addAndGet(-size);
+        retainedRecords.decrementAndGet();
+        return true;
+    }
+
+    /**
+     * Evicts from the oldest end while a cap is exceeded, never touching the newest record. Age is
+     * only checked at the head, so a record that arrived out of timestamp order may outlive the cap.
+     */
+    private void evictBefore(long newest) {
+        long cutoff = maxAgeMillis > 0 ? System.currentTimeMillis() - maxAgeMillis : Long.MIN_VALUE;
+        Map.Entry<Long, ObjectNode> oldest;
+        while ((oldest = records.first()) != null && oldest.getKey() < newest) {
+            boolean overCount = maxRecords > 0 && retainedRecords.get() > maxRecords;
+            boolean overBytes = !overCount && maxBytes > 0 && retainedBytes.get() > maxBytes;
+            boolean expired = !overCount && !overBytes && oldest.getValue().path(TIMESTAMP).asLong(Long.MAX_VALUE) < cutoff;
+            if (!overCount && !overBytes && !expired) return;
+            if (!discard(oldest.getKey(), oldest.getValue())) continue;
+
+            lazyMessages.remove(oldest.getKey());
+            evictedThrough = oldest.getKey();
+            if (overCount) evictedByCount++;
+            else if (overBytes) evictedByBytes++;
+            else evictedByAge++;
+        }
+    }
+
+    /**
+     * Drops every record in the given correlation partitions, typically once the scenario that
+     * generated the keys has finished. Returns how many records were dropped.
+     */
+    public int release(Collection<String> correlationKeys) {
+        if (correlation == null || correlationKeys.isEmpty()) return 0;
+        int released = 0;
+        for (Long sequence : correlation.release(correlationKeys)) {
+            ObjectNode record = records.get(sequence);
+            if (record == null || !discard(sequence, record)) continue;
+            lazyMessages.remove(sequence);
+            released++;
+        }
+        return released;
+    }
+
+    private boolean isBounded() {
+        return maxRecords > 0 || maxAgeMillis > 0 || maxBytes > 0;
+    }
+
+    public void clear() {
+        synchronized (this) {
+            records.clear();
+            lazyMessages.clear();
+            retainedSizes.clear();
+            retainedRecords.set(0);
+            retainedBytes.set(0);
+            // What was evicted before a clear would be gone now anyway, so it no longer warrants a warning
+            evictedThrough = 0;
+            if (index != null) index.clear();
+            if (correlation != null) correlation.clear();
+            log.debug("Kafka message store cleared; {}", stats());
+        }
+    }
+
+    public synchronized StoreStats stats() {
+        return new StoreStats(retainedRecords.get(), retainedBytes.get(), evictedByCount, evictedByAge, evictedByBytes,
+                highWaterRecords, highWaterBytes);
+    }
+
+    public long lastSequence() { return lastSequence; }
+
+    /** Sequence of the newest evicted record, or 0 when nothing was evicted since the last clear. */
+    public long evictedThrough() { return evictedThrough; }
+
+    public int size() { return retainedRecords.get(); }
+
+    private static Set<String> messagePaths(MessageFilterSet filterSet) {
+        Set<String> paths = new TreeSet<>();
+        for (MessageFilter filter : filterSet.getFilters()) addMessagePath(paths, filter.getPath().fieldNames());
+        return paths;
+    }
+
+    private static Set<String> messagePaths(List<String> keys) {
+        Set<String> paths = new TreeSet<>();
+        for (String key : keys) addMessagePath(paths, JsonPathResolver.compile(key).fieldNames());
+        return paths;
+    }
+
+    /** Adds the part of a path under {@code Message}, with array indexes and a trailing {@code *} dropped. */
+    private static void addMessagePath(Set<String> paths, List<String> names) {
+        if (names.size() < 2 || !KafkaConstants.MESSAGE.equals(names.get(0))) return;
+        StringJoiner path = new StringJoiner(".");
+        for (String name : names.subList(1, names.size())) {
+            if (!name.isEmpty() && !"*".equals(name)) path.add(name);
+        }
+        if (path.length() > 0) paths.add(path.toString());
+    }
 }
@@ -1,5 +1,6 @@
 package com.spring.befwlc.v2.kafka;
 
+import com.spring.befwlc.v2.config.KafkaProperties;
 import com.spring.befwlc.v2.exception.TestExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,26 +9,86 @@ import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import test.prof.events.TransactionCreated;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KafkaProducerService {
     private final KafkaTemplate<String, TransactionCreated> kafkaTemplate;
+    private final KafkaProperties kafkaProperties;
 
-    public void sendMessage(TransactionCreated message) {
+    public SendResult<String, TransactionCreated> sendMessage(TransactionCreated message) {
         log.info("Publishing message to Kafka default topic");
-        CompletableFuture<SendResult<String, TransactionCreated>> future = kafkaTemplate.sendDefault(message);
+        SendResult<String, TransactionCreated> result = await(sendMessageAsync(message));
+        log.info("Published to topic={} partition={} offset={}",
+                result.getRecordMetadata().topic(),
+                result.getRecordMetadata().partition(),
+                result.getRecordMetadata().offset());
+        return result;
+    }
+
+    /** Hands the message to the producer and returns without waiting for the broker acknowledgement. */
+    public CompletableFuture<SendResult<String, TransactionCreated>> sendMessageAsync(TransactionCreated message) {
+        return kafkaTemplate.sendDefault(message);
+    }
+
+    /**
+     * Sends all messages back to back, so the producer can batch them, then waits for every
+     * acknowledgement at once. Fails if any send failed, after all of them have completed.
+     */
+    public List<SendResult<String, TransactionCreated>> sendMessages(List<TransactionCreated> messages) {
+        log.info("Publishing {} messages to Kafka default topic", messages.size());
+        List<CompletableFuture<SendResult<String, TransactionCreated>>> futures = new ArrayList<>(messages.size());
+        for (TransactionCreated message : messages) futures.add(sendMessageAsync(message));
+        // Lingering batches would otherwise wait out linger.ms before going out
+        kafkaTemplate.flush();
+
+        try {
+            // Failures are reported per message below, so the wait for all of them can only end in a timeout
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null)
+                    .orTimeout(kafkaProperties.getProducer().getSendTimeoutSeconds(), TimeUnit.SECONDS)
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestExecutionException("Interrupted while waiting for Kafka publish", e);
+        } catch (ExecutionException e) {
+            long pending = futures.stream().filter(f -> !f.isDone()).count();
+            throw new TestExecutionException("Kafka publish timed out with %d of %d messages unacknowledged", pending, messages.size());
+        }
+
+        List<SendResult<String, TransactionCreated>> results = new ArrayList<>(futures.size());
+        List<String> failures = new ArrayList<>();
+        for (CompletableFuture<SendResult<String, TransactionCreated>> future : futures) {
+            try {
+                results.add(await(future));
+            } catch (TestExecutionException e) {
+                failures.add(e.getMessage());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new TestExecutionException("%d of %d Kafka publishes failed, first: %s", failures.size(), messages.size(), failures.get(0));
+        }
+        log.info("Published {} messages, last at partition={} offset={}", results.size(),
+                results.isEmpty() ? null : results.get(results.size() - 1).getRecordMetadata().partition(),
+                results.isEmpty() ? null : results.get(results.size() - 1).getRecordMetadata().offset());
+        return results;
+    }
+
+    private SendResult<String, TransactionCreated> await(CompletableFuture<SendResult<String, TransactionCreated>> future) {
         try {
-            SendResult<String, TransactionCreated> result = future.get(30, TimeUnit.SECONDS);
-            log.info("Published to topic={} partition={} offset={}",
-                    result.getRecordMetadata().topic(),
-                    result.getRecordMetadata().partition(),
-                    result.getRecordMetadata().offset());
-        } catch (Exception e) {
-            throw new TestExecutionException("Kafka publish failed: %s", e.getMessage());
+            return future.get(kafkaProperties.getProducer().getSendTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestExecutionException("Interrupted while waiting for Kafka publish", e);
+        } catch (ExecutionException | TimeoutException e) {
+            String reason = e instanceof ExecutionException && e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            throw new TestExecutionException("Kafka publish failed: %s", reason);
         }
     }
 }
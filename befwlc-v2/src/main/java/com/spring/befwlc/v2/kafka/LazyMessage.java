@@ -0,0 +1,57 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.exception.TestExecutionException;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.spring.befwlc.v2.kafka.KafkaConstants.*;
+
+/**
+ * The raw Avro payload behind an envelope stored in lazy mode. The envelope's {@code Message}
+ * only holds the paths decoded so far; asking for more re-decodes the payload for the union of
+ * old and new paths and swaps the projected tree in, so readers never see a half-built node.
+ */
+public final class LazyMessage {
+    private final AvroJsonDecoder decoder;
+    private final int schemaId;
+    private final byte[] payload;
+    private Set<String> decodedPaths = Set.of();
+    private boolean complete;
+
+    LazyMessage(AvroJsonDecoder decoder, int schemaId, byte[] payload) {
+        this.decoder = decoder;
+        this.schemaId = schemaId;
+        this.payload = payload;
+    }
+
+    /** Makes sure the given message-relative paths are present in the envelope's {@code Message}. */
+    synchronized void project(ObjectNode envelope, Collection<String> paths) {
+        if (complete || paths.isEmpty() || decodedPaths.containsAll(paths)) return;
+
+        Set<String> union = new TreeSet<>(decodedPaths);
+        union.addAll(paths);
+        try {
+            envelope.set(MESSAGE, decoder.decode(schemaId, payload, union));
+        } catch (IOException e) {
+            throw new TestExecutionException("Failed to decode Kafka record at offset %s: %s", envelope.get(OFFSET), e.getMessage());
+        }
+        decodedPaths = union;
+    }
+
+    int payloadSize() { return payload.length; }
+
+    /** Replaces the projection with the fully decoded message. */
+    synchronized void decodeFully(ObjectNode envelope) {
+        if (complete) return;
+        try {
+            envelope.set(MESSAGE, decoder.decode(payload));
+        } catch (IOException e) {
+            throw new TestExecutionException("Failed to decode Kafka record at offset %s: %s", envelope.get(OFFSET), e.getMessage());
+        }
+        complete = true;
+    }
+}
@@ -0,0 +1,15 @@
+package com.spring.befwlc.v2.kafka;
+
+/**
+ * Position of an await in the store's sequence. Everything at or below the position has
+ * already been evaluated and is skipped on the next scan.
+ */
+public class MessageCursor {
+    private long position;
+
+    public long position() { return position; }
+
+    void advanceTo(long sequence) {
+        if (sequence > position) position = sequence;
+    }
+}
@@ -0,0 +1,92 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.matching.CompiledPath;
+import com.spring.befwlc.v2.matching.JsonPathResolver;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Hash indexes over envelope fields. A configured path is either an exact dot path
+ * ({@code Message.body.transactionIdentifierSequence}) or a parent followed by {@code .*}
+ * ({@code Headers.*}), which indexes every direct child of that object under its own key.
+ * Buckets hold store sequence numbers, ordered so a lookup can be limited to a sequence range.
+ */
+class MessageIndex {
+    private static final String CHILD_WILDCARD = ".*";
+
+    private final Map<String, CompiledPath> exactPaths = new LinkedHashMap<>();
+    private final Map<String, CompiledPath> wildcardParents = new LinkedHashMap<>();
+    private final Map<String, Map<String, NavigableSet<Long>>> buckets = new HashMap<>();
+
+    MessageIndex(Collection<String> paths) {
+        for (String path : paths) {
+            String trimmed = path.trim();
+            if (trimmed.endsWith(CHILD_WILDCARD)) {
+                String parent = trimmed.substring(0, trimmed.length() - CHILD_WILDCARD.length());
+                wildcardParents.put(parent, JsonPathResolver.compile(parent));
+            } else {
+                exactPaths.put(trimmed, JsonPathResolver.compile(trimmed));
+            }
+        }
+    }
+
+    boolean covers(String key) {
+        if (exactPaths.containsKey(key)) return true;
+        int lastDot = key.lastIndexOf('.');
+        return lastDot > 0 && wildcardParents.containsKey(key.substring(0, lastDot));
+    }
+
+    synchronized void add(long sequence, ObjectNode record) {
+        forEachIndexedValue(record, (key, value) ->
+                buckets.computeIfAbsent(key, k -> new HashMap<>())
+                        .computeIfAbsent(value, v -> new TreeSet<>())
+                        .add(sequence));
+    }
+
+    synchronized void remove(long sequence, ObjectNode record) {
+        forEachIndexedValue(record, (key, value) -> {
+            Map<String, NavigableSet<Long>> byValue = buckets.get(key);
+            if (byValue == null) return;
+            NavigableSet<Long> bucket = byValue.get(value);
+            if (bucket == null) return;
+            bucket.remove(sequence);
+            if (bucket.isEmpty()) byValue.remove(value);
+        });
+    }
+
+    synchronized void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * Returns the sequences in {@code (after, upTo]} of the smallest bucket among the covered
+     * key/value pairs, or empty when none of the keys is indexed and the caller has to fall
+     * back to a full scan.
+     */
+    synchronized Optional<List<Long>> narrow(Map<String, String> exactValues, long after, long upTo) {
+        NavigableSet<Long> smallest = null;
+        for (Map.Entry<String, String> entry : exactValues.entrySet()) {
+            if (!covers(entry.getKey())) continue;
+            NavigableSet<Long> bucket = buckets.getOrDefault(entry.getKey(), Map.of()).get(entry.getValue());
+            if (bucket == null) return Optional.of(List.of());
+            NavigableSet<Long> inRange = bucket.subSet(after, false, upTo, true);
+            if (smallest == null || inRange.size() < smallest.size()) smallest = inRange;
+        }
+        return smallest == null ? Optional.empty() : Optional.of(new ArrayList<>(smallest));
+    }
+
+    private void forEachIndexedValue(ObjectNode record, BiConsumer<String, String> action) {
+        for (Map.Entry<String, CompiledPath> path : exactPaths.entrySet()) {
+            JsonNode node = path.getValue().resolve(record);
+            if (!node.isMissingNode()) action.accept(path.getKey(), node.asText());
+        }
+        for (Map.Entry<String, CompiledPath> parent : wildcardParents.entrySet()) {
+            JsonNode node = parent.getValue().resolve(record);
+            if (!node.isObject()) continue;
+            node.fields().forEachRemaining(field -> action.accept(parent.getKey() + "." + field.getKey(), field.getValue().asText()));
+        }
+    }
+}
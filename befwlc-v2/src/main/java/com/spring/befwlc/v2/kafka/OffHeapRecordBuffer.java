@@ -0,0 +1,190 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.spring.befwlc.v2.exception.TestExecutionException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps envelopes serialized as JSON in direct buffer segments, outside the Java heap, and decodes
+ * them again on every read. The heap only holds three slots per record: segment, offset and length.
+ *
+ * <p>Segments are append-only and never reused. A segment is released once all of its records are
+ * removed and it is no longer the one being written; the memory goes back when its buffer is
+ * collected. Readers decode outside the lock, which is safe because written bytes never change.
+ */
+final class OffHeapRecordBuffer implements RecordBuffer {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int INITIAL_SLOTS = 1024;
+
+    private final int segmentBytes;
+
+    // Guarded by this. Slot i holds the record with sequence base + i; slots before head are all removed.
+    private Segment current;
+    private long base;
+    private int head;
+    private int count;
+    private Segment[] segments = new Segment[INITIAL_SLOTS];
+    private int[] offsets = new int[INITIAL_SLOTS];
+    private int[] lengths = new int[INITIAL_SLOTS];
+
+    OffHeapRecordBuffer(int segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    @Override
+    public long put(long sequence, ObjectNode record) {
+        byte[] bytes;
+        try {
+            bytes = MAPPER.writeValueAsBytes(record);
+        } catch (IOException e) {
+            throw new TestExecutionException("Failed to serialize Kafka record at offset %s: %s", record.get(KafkaConstants.OFFSET), e.getMessage());
+        }
+        synchronized (this) {
+            if (count == 0) base = sequence;
+            if (sequence != base + count) {
+                throw new IllegalStateException("Sequence " + sequence + " does not follow " + (base + count - 1));
+            }
+            if (current == null || current.buffer.capacity() - current.position < bytes.length) {
+                current = new Segment(Math.max(segmentBytes, bytes.length));
+            }
+            if (count == segments.length) makeRoom();
+
+            current.buffer.put(current.position, bytes);
+            segments[count] = current;
+            offsets[count] = current.position;
+            lengths[count] = bytes.length;
+            current.position += bytes.length;
+            count++;
+        }
+        return bytes.length;
+    }
+
+    @Override
+    public ObjectNode get(long sequence) {
+        ByteBuffer slice;
+        synchronized (this) {
+            slice = slice(sequence);
+        }
+        return slice != null ? decode(sequence, slice) : null;
+    }
+
+    @Override
+    public Long sequenceOf(ObjectNode record) {
+        return record instanceof StoredEnvelope stored ? stored.sequence() : null;
+    }
+
+    @Override
+    public synchronized boolean remove(long sequence) {
+        long slot = sequence - base;
+        if (slot < head || slot >= count || segments[(int) slot] == null) return false;
+
+        segments[(int) slot] = null;
+        while (head < count && segments[head] == null) head++;
+        if (head == count) {
+            // Nothing left, so the segment being written can go too
+            current = null;
+            head = 0;
+            count = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public Map.Entry<Long, ObjectNode> first() {
+        long sequence;
+        ByteBuffer slice;
+        synchronized (this) {
+            if (head == count) return null;
+            sequence = base + head;
+            slice = slice(sequence);
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(sequence, decode(sequence, slice));
+    }
+
+    @Override
+    public List<ObjectNode> range(long after, long upTo) {
+        List<Long> sequences = new ArrayList<>();
+        List<ByteBuffer> slices = new ArrayList<>();
+        synchronized (this) {
+            long from = Math.max(after + 1, base + head);
+            long to = Math.min(upTo, base + count - 1);
+            for (long sequence = from; sequence <= to; sequence++) {
+                ByteBuffer slice = slice(sequence);
+                if (slice == null) continue;
+                sequences.add(sequence);
+                slices.add(slice);
+            }
+        }
+        List<ObjectNode> result = new ArrayList<>(slices.size());
+        for (int i = 0; i < slices.size(); i++) result.add(decode(sequences.get(i), slices.get(i)));
+        return result;
+    }
+
+    @Override
+    public List<ObjectNode> all() {
+        return range(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized void clear() {
+        current = null;
+        head = 0;
+        count = 0;
+        segments = new Segment[INITIAL_SLOTS];
+        offsets = new int[INITIAL_SLOTS];
+        lengths = new int[INITIAL_SLOTS];
+    }
+
+    private ByteBuffer slice(long sequence) {
+        long slot = sequence - base;
+        if (slot < head || slot >= count || segments[(int) slot] == null) return null;
+        int i = (int) slot;
+        return segments[i].buffer.slice(offsets[i], lengths[i]);
+    }
+
+    /** Drops the removed slots before head if that frees enough space, otherwise grows the slot arrays. */
+    private void makeRoom() {
+        if (head >= segments.length / 2) {
+            int live = count - head;
+            System.arraycopy(segments, head, segments, 0, live);
+            System.arraycopy(offsets, head, offsets, 0, live);
+            System.arraycopy(lengths, head, lengths, 0, live);
+            Arrays.fill(segments, live, count, null);
+            base += head;
+            count = live;
+            head = 0;
+        } else {
+            int capacity = segments.length * 2;
+            segments = Arrays.copyOf(segments, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+        }
+    }
+
+    private static ObjectNode decode(long sequence, ByteBuffer slice) {
+        try {
+            ObjectNode decoded = (ObjectNode) MAPPER.readTree(new ByteBufferBackedInputStream(slice));
+            return new StoredEnvelope(MAPPER.getNodeFactory(), sequence, decoded);
+        } catch (IOException e) {
+            throw new TestExecutionException("Failed to read stored Kafka record %d: %s", sequence, e.getMessage());
+        }
+    }
+
+    private static final class Segment {
+        private final ByteBuffer buffer;
+        private int position;
+
+        private Segment(int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+    }
+}
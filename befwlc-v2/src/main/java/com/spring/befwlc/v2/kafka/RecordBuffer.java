@@ -0,0 +1,34 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Where a {@link KafkaMessageStore} keeps its envelopes, by sequence. Writes come from the store
+ * under its lock with increasing sequences; reads and removals may come from any thread.
+ */
+interface RecordBuffer {
+
+    /** Stores the record and returns the number of bytes it is estimated to retain. */
+    long put(long sequence, ObjectNode record);
+
+    ObjectNode get(long sequence);
+
+    /** The sequence of a record handed out by this buffer, or {@code null} if it did not come from here. */
+    Long sequenceOf(ObjectNode record);
+
+    /** Returns {@code true} only to the caller that actually removed the record. */
+    boolean remove(long sequence);
+
+    /** The oldest record still held, or {@code null} when empty. */
+    Map.Entry<Long, ObjectNode> first();
+
+    /** Records with a sequence in {@code (after, upTo]}, oldest first. */
+    List<ObjectNode> range(long after, long upTo);
+
+    List<ObjectNode> all();
+
+    void clear();
+}
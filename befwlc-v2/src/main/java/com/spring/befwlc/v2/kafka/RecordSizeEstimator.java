@@ -0,0 +1,41 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Rough heap footprint of a Jackson tree on a 64-bit JVM with compressed references. Field names
+ * are not counted, as decoded envelopes share them with the schema or the parser's symbol table,
+ * and shared subtrees are counted once per reference. Good enough to cap a store, not to size one.
+ */
+final class RecordSizeEstimator {
+    private static final int CONTAINER = 16 + 56 + 16;
+    private static final int FIELD = 40 + 4;
+    private static final int ELEMENT = 4;
+    private static final int TEXT = 16 + 24 + 16;
+    private static final int NUMBER = 24;
+
+    private RecordSizeEstimator() {}
+
+    static long estimate(JsonNode node) {
+        if (node == null) return 0;
+        return switch (node.getNodeType()) {
+            case OBJECT -> {
+                long size = CONTAINER;
+                Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) size += FIELD + estimate(fields.next().getValue());
+                yield size;
+            }
+            case ARRAY -> {
+                long size = CONTAINER;
+                for (JsonNode element : node) size += ELEMENT + estimate(element);
+                yield size;
+            }
+            case STRING -> TEXT + node.textValue().length();
+            case NUMBER, BINARY, POJO -> NUMBER;
+            case BOOLEAN, NULL, MISSING -> 0;
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package com.spring.befwlc.v2.kafka;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Point-in-time counters of a {@link KafkaMessageStore}. Eviction counts and high-water marks survive {@code clear()}. */
+@Getter
+@RequiredArgsConstructor
+public class StoreStats {
+    private final int records;
+    private final long retainedBytes;
+    private final long evictedByCount;
+    private final long evictedByAge;
+    private final long evictedByBytes;
+    private final int highWaterRecords;
+    private final long highWaterBytes;
+
+    public long evictions() {
+        return evictedByCount + evictedByAge + evictedByBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("records=%d, retainedBytes=%d, evicted(count=%d, age=%d, bytes=%d), highWater(records=%d, bytes=%d)",
+                records, retainedBytes, evictedByCount, evictedByAge, evictedByBytes, highWaterRecords, highWaterBytes);
+    }
+}
@@ -0,0 +1,22 @@
+package com.spring.befwlc.v2.kafka;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * An envelope decoded from an {@link OffHeapRecordBuffer}. Each read builds a new tree, so the
+ * sequence travels with it for {@link KafkaMessageStore#remove(ObjectNode)} to find the record.
+ */
+final class StoredEnvelope extends ObjectNode {
+    private static final long serialVersionUID = 1L;
+
+    private final long sequence;
+
+    StoredEnvelope(JsonNodeFactory nodeFactory, long sequence, ObjectNode decoded) {
+        super(nodeFactory);
+        this.sequence = sequence;
+        setAll(decoded);
+    }
+
+    long sequence() { return sequence; }
+}
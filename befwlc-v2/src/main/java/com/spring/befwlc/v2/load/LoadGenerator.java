@@ -0,0 +1,176 @@
+package com.spring.befwlc.v2.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.config.KafkaProperties;
+import com.spring.befwlc.v2.context.ScenarioContext;
+import com.spring.befwlc.v2.dsl.CorrelationIdGenerator;
+import com.spring.befwlc.v2.dsl.DslResolver;
+import com.spring.befwlc.v2.exception.TestExecutionException;
+import com.spring.befwlc.v2.kafka.KafkaMessageStore;
+import com.spring.befwlc.v2.kafka.KafkaProducerService;
+import com.spring.befwlc.v2.matching.CompiledPath;
+import com.spring.befwlc.v2.matching.JsonPathResolver;
+import com.spring.befwlc.v2.matching.MessageFilterSet;
+import com.spring.befwlc.v2.payload.PayloadLoader;
+import com.spring.befwlc.v2.payload.PayloadMutator;
+import com.spring.befwlc.v2.payload.PayloadTemplate;
+import com.spring.befwlc.v2.util.LatencyRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import test.prof.events.TransactionCreated;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Publishes a payload template at a fixed rate for a fixed time and measures the run: the rate
+ * actually achieved, how long each send took to be acknowledged, and, when the outbound topic
+ * carries the configured response path, how long until the matching response was consumed.
+ *
+ * <p>Sends are asynchronous on the shared producer, so the pacing thread never waits for the
+ * broker; a run falls behind its target only when building messages is slower than the rate.
+ * Each message gets a unique transaction sequence, which is what responses are correlated by.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadGenerator {
+    private static final String BENEFICIARY_PATH = "body.receivingPartyName";
+    private static final String SEQUENCE_PATH = "body.transactionIdentifierSequence";
+
+    private final KafkaProducerService producerService;
+    private final KafkaMessageStore messageStore;
+    private final KafkaProperties kafkaProperties;
+    private final PayloadLoader payloadLoader;
+    private final PayloadMutator payloadMutator;
+    private final DslResolver dslResolver;
+    private final CorrelationIdGenerator correlationIds;
+    private final ObjectMapper objectMapper;
+
+    public LoadReport run(LoadProfile profile, ScenarioContext context) {
+        long total = profile.messageCount();
+        if (total <= 0) throw new TestExecutionException("Load run needs a positive rate and duration, got %d msg/s for %d s",
+                profile.getRatePerSecond(), profile.getDurationSeconds());
+
+        PayloadTemplate template = payloadLoader.loadTemplate(profile.getJsonFile());
+        long intervalNanos = 1_000_000_000L / profile.getRatePerSecond();
+
+        LatencyRecorder sendLatency = new LatencyRecorder();
+        LatencyRecorder endToEndLatency = new LatencyRecorder();
+        AtomicLong failed = new AtomicLong();
+        Map<String, Long> pending = new ConcurrentHashMap<>();
+        CountDownLatch settled = new CountDownLatch((int) Math.min(total, Integer.MAX_VALUE));
+        // Counted rather than kept: each send future holds its record and message until dropped
+        CountDownLatch acknowledged = new CountDownLatch((int) Math.min(total, Integer.MAX_VALUE));
+        Consumer<ObjectNode> responseListener = responseListener(pending, endToEndLatency, settled);
+        List<String> correlationKeys = new ArrayList<>();
+
+        log.info("Starting load run: {} msg/s for {} s ({} messages) from '{}'",
+                profile.getRatePerSecond(), profile.getDurationSeconds(), total, profile.getJsonFile());
+        if (responseListener != null) messageStore.addArrivalListener(responseListener);
+        long start = System.nanoTime();
+        try {
+            for (long i = 0; i < total; i++) {
+                long due = start + i * intervalNanos;
+                long wait = due - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                long id = correlationIds.next();
+                String sequence = CorrelationIdGenerator.transactionSequence(id);
+                String beneficiary = CorrelationIdGenerator.beneficiaryId(id);
+                correlationKeys.add(sequence);
+                correlationKeys.add(beneficiary);
+                TransactionCreated message = buildMessage(template, profile.getMutations(), beneficiary, sequence, context);
+
+                long sentAt = System.nanoTime();
+                if (responseListener != null) pending.put(sequence, sentAt);
+                producerService.sendMessageAsync(message).whenComplete((result, error) -> {
+                    sendLatency.record(System.nanoTime() - sentAt);
+                    if (error != null) {
+                        failed.incrementAndGet();
+                        if (pending.remove(sequence) != null || responseListener == null) settled.countDown();
+                    } else if (responseListener == null) {
+                        settled.countDown();
+                    }
+                    acknowledged.countDown();
+                });
+            }
+            awaitAcknowledgements(acknowledged, total);
+            long elapsed = System.nanoTime() - start;
+
+            if (responseListener != null) awaitResponses(settled, pending);
+            LoadReport report = new LoadReport(profile.getRatePerSecond(), total, failed.get(), endToEndLatency.count(),
+                    elapsed, sendLatency, endToEndLatency);
+            log.info("{}", report);
+            return report;
+        } finally {
+            if (responseListener != null) messageStore.removeArrivalListener(responseListener);
+            if (messageStore.isCorrelated()) messageStore.release(correlationKeys);
+        }
+    }
+
+    private TransactionCreated buildMessage(PayloadTemplate template, Map<String, String> mutations, String beneficiary,
+                                            String sequence, ScenarioContext context) {
+        Map<String, String> values = new LinkedHashMap<>();
+        mutations.forEach((path, expression) -> values.put(path, dslResolver.resolve(expression, context)));
+        values.put(BENEFICIARY_PATH, beneficiary);
+        values.put(SEQUENCE_PATH, sequence);
+        try {
+            return objectMapper.treeToValue(payloadMutator.apply(template.copy(), values), TransactionCreated.class);
+        } catch (Exception e) {
+            throw new TestExecutionException("Failed to build load message %s: %s", sequence, e.getMessage());
+        }
+    }
+
+    /** Records end-to-end latency for arrivals carrying a pending sequence; {@code null} when responses are not tracked. */
+    private Consumer<ObjectNode> responseListener(Map<String, Long> pending, LatencyRecorder latency, CountDownLatch settled) {
+        String path = kafkaProperties.getLoad().getResponseCorrelationPath();
+        if (path == null || path.isBlank()) return null;
+
+        CompiledPath compiled = JsonPathResolver.compile(path);
+        // Makes a lazily decoding store project the path before the listener reads it
+        MessageFilterSet projection = new MessageFilterSet().addFilter(path, "*");
+        return envelope -> {
+            messageStore.prepare(List.of(envelope), projection);
+            JsonNode value = compiled.resolve(envelope);
+            if (value.isMissingNode()) return;
+            Long sentAt = pending.remove(value.asText());
+            if (sentAt == null) return;
+            latency.record(System.nanoTime() - sentAt);
+            settled.countDown();
+        };
+    }
+
+    private void awaitAcknowledgements(CountDownLatch acknowledged, long total) {
+        try {
+            if (!acknowledged.await(kafkaProperties.getProducer().getSendTimeoutSeconds(), TimeUnit.SECONDS)) {
+                log.warn("Load run stopped waiting with {} of {} sends unacknowledged", acknowledged.getCount(), total);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestExecutionException("Interrupted while waiting for load run acknowledgements", e);
+        }
+    }
+
+    private void awaitResponses(CountDownLatch settled, Map<String, Long> pending) {
+        try {
+            if (!settled.await(kafkaProperties.getLoad().getResponseTimeoutSeconds(), TimeUnit.SECONDS)) {
+                log.warn("Load run stopped waiting with {} responses outstanding", pending.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TestExecutionException("Interrupted while waiting for load run responses", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.spring.befwlc.v2.load;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * What a load run publishes: a payload template, the fields to set on every message (values may
+ * be DSL expressions, resolved per message), and how many messages per second for how long.
+ */
+@Getter
+@RequiredArgsConstructor
+public class LoadProfile {
+    private final String jsonFile;
+    private final Map<String, String> mutations;
+    private final int ratePerSecond;
+    private final int durationSeconds;
+
+    public long messageCount() {
+        return (long) ratePerSecond * durationSeconds;
+    }
+}
@@ -0,0 +1,29 @@
+package com.spring.befwlc.v2.load;
+
+import com.spring.befwlc.v2.util.LatencyRecorder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class LoadReport {
+    private final int targetRate;
+    private final long sent;
+    private final long failed;
+    private final long responses;
+    private final long elapsedNanos;
+    private final LatencyRecorder sendLatency;
+    private final LatencyRecorder endToEndLatency;
+
+    /** Acknowledged messages per second over the sending window. */
+    public double achievedRate() {
+        return elapsedNanos == 0 ? 0 : (sent - failed) * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Load run: target=%d msg/s, achieved=%.1f msg/s, sent=%d, failed=%d, responses=%d%n"
+                        + "  send latency: %s%n  end-to-end latency: %s",
+                targetRate, achievedRate(), sent, failed, responses, sendLatency.summary(), endToEndLatency.summary());
+    }
+}
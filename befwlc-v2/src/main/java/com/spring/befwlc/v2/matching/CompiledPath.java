@@ -0,0 +1,54 @@
+package com.spring.befwlc.v2.matching;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import java.util.List;
+
+/**
+ * A dot path that has been split and parsed once by {@link JsonPathResolver#compile(String)}.
+ * Each segment is a field name plus an optional array index, so resolving does no string work.
+ */
+public final class CompiledPath {
+    static final int NO_INDEX = -1;
+
+    private final String path;
+    private final String[] names;
+    private final int[] indexes;
+
+    CompiledPath(String path, String[] names, int[] indexes) {
+        this.path = path;
+        this.names = names;
+        this.indexes = indexes;
+    }
+
+    public JsonNode resolve(JsonNode root) {
+        JsonNode current = root;
+
+        for (int i = 0; i < names.length; i++) {
+            JsonNode child = current.get(names[i]);
+
+            if (indexes[i] != NO_INDEX) {
+                JsonNode arrayNode = child != null ? child : current;
+                current = arrayNode.path(indexes[i]);
+            } else {
+                if (child == null) return MissingNode.getInstance();
+                current = child;
+            }
+
+            if (current.isMissingNode()) return current;
+        }
+
+        return current;
+    }
+
+    /** The field names along the path, without array indexes. */
+    public List<String> fieldNames() {
+        return List.of(names);
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
@@ -1,33 +1,33 @@
 package com.spring.befwlc.v2.matching;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.MissingNode;
-import static com.spring.befwlc.v2.util.RegexUtils.JSON_ARRAY_INDEX;
+import com.spring.befwlc.v2.util.RegexUtils;
 import static com.spring.befwlc.v2.util.RegexUtils.JSON_IS_ARRAY_ACCESS;
 
 public final class JsonPathResolver {
     private JsonPathResolver() {}
 
     public static JsonNode resolve(JsonNode root, String dotPath) {
+        return compile(dotPath).resolve(root);
+    }
+
+    public static CompiledPath compile(String dotPath) {
         String[] segments = dotPath.split("\\.");
-        JsonNode current = root;
+        String[] names = new String[segments.length];
+        int[] indexes = new int[segments.length];
 
-        for (String segment : segments) {
-            String trimmed = segment.trim();
+        for (int i = 0; i < segments.length; i++) {
+            String trimmed = segments[i].trim();
 
-            if (trimmed.matches(JSON_IS_ARRAY_ACCESS)) {
-                String arrayKey = trimmed.replaceAll(JSON_ARRAY_INDEX, "");
-                int index = Integer.parseInt(trimmed.replaceAll("\\D", ""));
-                JsonNode arrayNode = current.has(arrayKey) ? current.get(arrayKey) : current;
-                current = arrayNode.path(index);
+            if (RegexUtils.matches(trimmed, JSON_IS_ARRAY_ACCESS)) {
+                names[i] = trimmed.substring(0, trimmed.indexOf('['));
+                indexes[i] = Integer.parseInt(trimmed.substring(trimmed.lastIndexOf('[') + 1, trimmed.length() - 1));
             } else {
-                if (!current.has(trimmed)) return MissingNode.getInstance();
-                current = current.get(trimmed);
+                names[i] = trimmed;
+                indexes[i] = CompiledPath.NO_INDEX;
             }
-
-            if (current.isMissingNode()) return current;
         }
 
-        return current;
+        return new CompiledPath(dotPath, names, indexes);
     }
 }
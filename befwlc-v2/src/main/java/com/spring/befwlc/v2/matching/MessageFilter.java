@@ -1,19 +1,30 @@
 package com.spring.befwlc.v2.matching;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Getter
-@RequiredArgsConstructor
 public class MessageFilter {
     private final String key;
     private final String expectedValue;
+    private final CompiledPath path;
+    private final WildcardPattern pattern;
     private Map<String, String> mismatchDetails;
 
+    public MessageFilter(String key, String expectedValue) {
+        this(key, expectedValue, JsonPathResolver.compile(key), WildcardMatcher.compile(expectedValue));
+    }
+
+    private MessageFilter(String key, String expectedValue, CompiledPath path, WildcardPattern pattern) {
+        this.key = key;
+        this.expectedValue = expectedValue;
+        this.path = path;
+        this.pattern = pattern;
+    }
+
     public MessageFilter withMismatch(String expected, String actual) {
-        MessageFilter copy = new MessageFilter(this.key, this.expectedValue);
+        MessageFilter copy = new MessageFilter(this.key, this.expectedValue, this.path, this.pattern);
         copy.mismatchDetails = new LinkedHashMap<>();
         copy.mismatchDetails.put("Expected", expected);
         copy.mismatchDetails.put("Actual", actual);
@@ -1,15 +1,23 @@
 package com.spring.befwlc.v2.matching;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.spring.befwlc.v2.context.ScenarioContext;
 import com.spring.befwlc.v2.dsl.DslResolver;
+import com.spring.befwlc.v2.kafka.KafkaConstants;
+import lombok.AccessLevel;
 import lombok.Getter;
 import java.util.*;
 
 @Getter
 public class MessageFilterSet {
+    /** Partial matches kept for diagnostics; once full, only a better candidate replaces the worst. */
+    public static final int MAX_PARTIAL_MATCHES = 10;
+
     private final List<MessageFilter> filters = new ArrayList<>();
-    private final List<MatchResult> partialMatches = new ArrayList<>();
+    // Keyed by topic/partition/offset, so re-scanning a record is a hash lookup rather than a tree comparison
+    @Getter(AccessLevel.NONE)
+    private final Map<Object, MatchResult> partialMatches = new LinkedHashMap<>();
 
     public MessageFilterSet() {}
 
@@ -25,19 +33,54 @@ public class MessageFilterSet {
         return this;
     }
 
-    public void addPartialMatch(MatchResult result) {
-        boolean alreadyTracked = partialMatches.stream()
-                .anyMatch(existing -> existing.getMessage().equals(result.getMessage()));
-        boolean isPartial = result.getUnmatched().size() != filters.size();
-        if (isPartial && !alreadyTracked) partialMatches.add(result);
+    /** Whether a partial match of the message with this many matched filters would be kept, checked before building it. */
+    public synchronized boolean wantsPartialMatch(ObjectNode message, int matchedCount) {
+        if (partialMatches.size() >= MAX_PARTIAL_MATCHES && matchedCount <= worstPartialMatch().getValue().matchedCount()) return false;
+        return !partialMatches.containsKey(recordKey(message));
+    }
+
+    public synchronized void addPartialMatch(MatchResult result) {
+        if (result.getUnmatched().size() == filters.size()) return;
+        Object key = recordKey(result.getMessage());
+        if (partialMatches.containsKey(key)) return;
+        if (partialMatches.size() >= MAX_PARTIAL_MATCHES) {
+            Map.Entry<Object, MatchResult> worst = worstPartialMatch();
+            if (result.matchedCount() <= worst.getValue().matchedCount()) return;
+            partialMatches.remove(worst.getKey());
+        }
+        partialMatches.put(key, result);
     }
 
-    public List<MatchResult> getBestPartialMatches() {
-        List<MatchResult> sorted = new ArrayList<>(partialMatches);
+    public synchronized List<MatchResult> getBestPartialMatches() {
+        List<MatchResult> sorted = new ArrayList<>(partialMatches.values());
         sorted.sort(Comparator.comparingInt(r -> r.getUnmatched().size()));
         return sorted;
     }
 
+    /** The fewest matched filters, the earliest tracked of those on a tie. */
+    private Map.Entry<Object, MatchResult> worstPartialMatch() {
+        Map.Entry<Object, MatchResult> worst = null;
+        for (Map.Entry<Object, MatchResult> entry : partialMatches.entrySet()) {
+            if (worst == null || entry.getValue().matchedCount() < worst.getValue().matchedCount()) worst = entry;
+        }
+        return worst;
+    }
+
+    private static Object recordKey(ObjectNode message) {
+        JsonNode offset = message.get(KafkaConstants.OFFSET);
+        if (offset == null) return new IdentityKey(message);
+        return message.path(KafkaConstants.TOPIC).asText() + '/' + message.path(KafkaConstants.PARTITION).asInt() + '/' + offset.asLong();
+    }
+
+    /** Falls back to the instance for records without Kafka coordinates. */
+    private record IdentityKey(ObjectNode message) {
+        @Override
+        public boolean equals(Object o) { return o instanceof IdentityKey other && other.message == message; }
+
+        @Override
+        public int hashCode() { return System.identityHashCode(message); }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
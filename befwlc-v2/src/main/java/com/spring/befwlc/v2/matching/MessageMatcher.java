@@ -17,12 +17,7 @@ public final class MessageMatcher {
         List<ObjectNode> matches = new ArrayList<>();
 
         for (ObjectNode message : messages) {
-            MatchResult result = evaluateFilters(message, filterSet);
-            if (result.isFullMatch()) {
-                matches.add(message);
-            } else {
-                filterSet.addPartialMatch(result);
-            }
+            if (matchOrTrackPartial(message, filterSet)) matches.add(message);
         }
 
         if (matches.isEmpty()) return Optional.empty();
@@ -38,13 +33,28 @@ public final class MessageMatcher {
 
     public static void assertNoMatch(List<ObjectNode> messages, MessageFilterSet filterSet) {
         for (ObjectNode message : messages) {
-            MatchResult result = evaluateFilters(message, filterSet);
-            if (result.isFullMatch()) {
+            if (countMatched(message, filterSet) == filterSet.getFilters().size()) {
                 throw new TestExecutionException("Expected no match but found a matching message");
             }
         }
     }
 
+    public static void collectPartialMatches(List<ObjectNode> messages, MessageFilterSet filterSet) {
+        for (ObjectNode message : messages) matchOrTrackPartial(message, filterSet);
+    }
+
+    /**
+     * Returns whether the message fully matches. Otherwise, if at least one filter matched, the
+     * detailed result is recorded on the filter set for diagnostics; only then, and only when the
+     * filter set still wants it, is anything allocated.
+     */
+    public static boolean matchOrTrackPartial(ObjectNode message, MessageFilterSet filterSet) {
+        int matched = countMatched(message, filterSet);
+        if (matched == filterSet.getFilters().size()) return true;
+        if (matched > 0 && filterSet.wantsPartialMatch(message, matched)) filterSet.addPartialMatch(evaluateFilters(message, filterSet));
+        return false;
+    }
+
     public static void logPartialMatches(List<MatchResult> partialMatches) {
         if (partialMatches.isEmpty()) {
             log.error("No messages matched any filters");
@@ -61,10 +71,10 @@ public final class MessageMatcher {
         List<MessageFilter> unmatched = new ArrayList<>();
 
         for (MessageFilter filter : filterSet.getFilters()) {
-            JsonNode node = JsonPathResolver.resolve(message, filter.getKey());
+            JsonNode node = filter.getPath().resolve(message);
             boolean found = !node.isMissingNode();
             String nodeValue = found ? node.asText() : null;
-            boolean valueMatched = found && WildcardMatcher.matches(filter.getExpectedValue(), nodeValue);
+            boolean valueMatched = found && filter.getPattern().matches(nodeValue);
 
             if (valueMatched) {
                 matched.add(filter);
@@ -76,4 +86,15 @@ public final class MessageMatcher {
 
         return new MatchResult(matched, unmatched, message);
     }
+
+    private static int countMatched(ObjectNode message, MessageFilterSet filterSet) {
+        List<MessageFilter> filters = filterSet.getFilters();
+        int matched = 0;
+        for (int i = 0; i < filters.size(); i++) {
+            MessageFilter filter = filters.get(i);
+            JsonNode node = filter.getPath().resolve(message);
+            if (!node.isMissingNode() && filter.getPattern().matches(node.asText())) matched++;
+        }
+        return matched;
+    }
 }
@@ -6,19 +6,24 @@ public final class WildcardMatcher {
     private WildcardMatcher() {}
 
     public static boolean matches(String pattern, String value) {
-        if (pattern == null || value == null) return pattern == null && value == null;
+        return compile(pattern).matches(value);
+    }
+
+    public static WildcardPattern compile(String pattern) {
+        if (pattern == null) return new WildcardPattern(null, WildcardPattern.Kind.EQUALS, null);
 
         boolean startsW = pattern.startsWith(WILDCARD);
         boolean endsW = pattern.endsWith(WILDCARD);
 
         if (startsW && endsW) {
-            return value.contains(pattern.substring(1, pattern.length() - 1));
+            String needle = pattern.length() > 1 ? pattern.substring(1, pattern.length() - 1) : "";
+            return new WildcardPattern(pattern, WildcardPattern.Kind.CONTAINS, needle);
         } else if (endsW) {
-            return value.startsWith(pattern.substring(0, pattern.length() - 1));
+            return new WildcardPattern(pattern, WildcardPattern.Kind.PREFIX, pattern.substring(0, pattern.length() - 1));
         } else if (startsW) {
-            return value.endsWith(pattern.substring(1));
+            return new WildcardPattern(pattern, WildcardPattern.Kind.SUFFIX, pattern.substring(1));
         } else {
-            return pattern.equals(value);
+            return new WildcardPattern(pattern, WildcardPattern.Kind.EQUALS, pattern);
         }
     }
 }
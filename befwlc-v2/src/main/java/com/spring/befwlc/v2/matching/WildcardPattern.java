@@ -0,0 +1,38 @@
+package com.spring.befwlc.v2.matching;
+
+/**
+ * An expected filter value classified once by {@link WildcardMatcher#compile(String)}.
+ */
+public final class WildcardPattern {
+    enum Kind { EQUALS, PREFIX, SUFFIX, CONTAINS }
+
+    private final String pattern;
+    private final Kind kind;
+    private final String needle;
+
+    WildcardPattern(String pattern, Kind kind, String needle) {
+        this.pattern = pattern;
+        this.kind = kind;
+        this.needle = needle;
+    }
+
+    public boolean matches(String value) {
+        if (pattern == null || value == null) return pattern == null && value == null;
+
+        return switch (kind) {
+            case CONTAINS -> value.contains(needle);
+            case PREFIX -> value.startsWith(needle);
+            case SUFFIX -> value.endsWith(needle);
+            case EQUALS -> needle.equals(value);
+        };
+    }
+
+    public boolean isExact() {
+        return pattern != null && kind == Kind.EQUALS;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+}
@@ -0,0 +1,18 @@
+package com.spring.befwlc.v2.payload;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/** Point-in-time counters of the {@link PayloadLoader} cache. */
+@Getter
+@RequiredArgsConstructor
+public class PayloadCacheStats {
+    private final int entries;
+    private final long hits;
+    private final long misses;
+
+    @Override
+    public String toString() {
+        return String.format("entries=%d, hits=%d, misses=%d", entries, hits, misses);
+    }
+}
@@ -1,6 +1,9 @@
 package com.spring.befwlc.v2.payload;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.befwlc.v2.config.PayloadProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
@@ -10,21 +13,67 @@ import org.springframework.util.FileCopyUtils;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Loads payload files from the classpath. With {@code payload.cache} on, each file is read and
+ * parsed once and the template is shared by every later step, scenario and thread.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PayloadLoader {
     private final ResourceLoader resourceLoader;
     private final ObjectMapper objectMapper;
+    private final PayloadProperties payloadProperties;
+
+    private final Map<String, PayloadTemplate> templates = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @PostConstruct
+    public void warmUp() {
+        if (!payloadProperties.isCache() || payloadProperties.getWarmUp().isEmpty()) return;
+        payloadProperties.getWarmUp().forEach(this::loadTemplate);
+        log.info("Payload cache warmed up with {} files", templates.size());
+    }
 
     public String loadJson(String jsonFile) {
+        return loadTemplate(jsonFile).getJson();
+    }
+
+    /** Loads the payload file as a parsed template, for mutating without string round trips. */
+    public PayloadTemplate loadTemplate(String jsonFile) {
         String path = jsonFile.startsWith("/") ? jsonFile : "/payload/" + jsonFile;
+        if (!payloadProperties.isCache()) return read(path);
+
+        PayloadTemplate cached = templates.get(path);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        return templates.computeIfAbsent(path, p -> {
+            misses.increment();
+            return read(p);
+        });
+    }
+
+    public PayloadCacheStats stats() {
+        return new PayloadCacheStats(templates.size(), hits.sum(), misses.sum());
+    }
+
+    @PreDestroy
+    public void logStats() {
+        if (payloadProperties.isCache()) log.info("Payload cache: {}", stats());
+    }
+
+    private PayloadTemplate read(String path) {
         Resource resource = resourceLoader.getResource("classpath:" + path);
         try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
             String content = FileCopyUtils.copyToString(reader);
-            objectMapper.readTree(content);
-            return content;
+            return new PayloadTemplate(path, content, objectMapper.readTree(content));
         } catch (Exception e) {
             log.error("Error loading JSON file {}: {}", path, e.getMessage());
             throw new RuntimeException("Error loading JSON payload: " + path, e);
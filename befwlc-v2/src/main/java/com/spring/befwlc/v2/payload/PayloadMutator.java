@@ -1,13 +1,29 @@
 package com.spring.befwlc.v2.payload;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import com.spring.befwlc.v2.util.RegexUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 @Slf4j
 @Component
 public class PayloadMutator {
+    private static final Configuration TREE = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider())
+            .mappingProvider(new JacksonMappingProvider())
+            .build();
+
+    private final Map<String, JsonPath> compiledPaths = new ConcurrentHashMap<>();
+
     public String setValue(String json, String path, String value) {
         String normalizedPath = path.startsWith("$") ? path : "$." + path;
         try {
@@ -19,12 +35,31 @@ public class PayloadMutator {
         }
     }
 
+    /**
+     * Applies the values to a parsed document in place, without serializing it, with the same path
+     * and type rules as {@link #setValue}. Meant for a {@link PayloadTemplate#copy()}.
+     */
+    public JsonNode apply(JsonNode document, Map<String, String> values) {
+        DocumentContext context = JsonPath.using(TREE).parse(document);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String path = entry.getKey();
+            try {
+                context.set(compiledPaths.computeIfAbsent(path, p -> JsonPath.compile(p.startsWith("$") ? p : "$." + p)),
+                        inferType(entry.getValue()));
+            } catch (PathNotFoundException e) {
+                log.error("Path not found: {}", path);
+                throw new RuntimeException("Invalid JSON path: " + path, e);
+            }
+        }
+        return document;
+    }
+
     private Object inferType(String value) {
         if (value == null || value.equalsIgnoreCase("null") || value.equalsIgnoreCase("<null>") || value.equalsIgnoreCase("${null}")) return null;
         if (value.isEmpty()) return "";
         if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) return Boolean.parseBoolean(value);
-        if (value.matches("-?\\d+\\.\\d+")) return Double.parseDouble(value);
-        if (value.matches("-?\\d+")) return Long.parseLong(value);
+        if (RegexUtils.matches(value, RegexUtils.DECIMAL)) return Double.parseDouble(value);
+        if (RegexUtils.matches(value, RegexUtils.INTEGER)) return Long.parseLong(value);
         return value;
     }
 }
@@ -0,0 +1,27 @@
+package com.spring.befwlc.v2.payload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+
+/**
+ * A payload file parsed once into a tree, together with its text. The tree itself is never handed
+ * out; {@link #copy()} returns a fresh one to mutate, so a template can be shared across scenarios
+ * and rendered from several threads at once.
+ */
+public final class PayloadTemplate {
+    @Getter
+    private final String path;
+    @Getter
+    private final String json;
+    private final JsonNode root;
+
+    PayloadTemplate(String path, String json, JsonNode root) {
+        this.path = path;
+        this.json = json;
+        this.root = root;
+    }
+
+    public JsonNode copy() {
+        return root.deepCopy();
+    }
+}
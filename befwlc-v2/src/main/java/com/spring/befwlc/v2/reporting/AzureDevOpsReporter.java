@@ -9,6 +9,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
@@ -19,23 +20,24 @@ public class AzureDevOpsReporter implements TestReporter {
     private final AzureProperties azureProperties;
     private final RestTemplate restTemplate = new RestTemplate();
 
-    private String currentTestCaseId;
-    private final Map<String, List<Boolean>> testResults = new HashMap<>();
-    private boolean currentScenarioFailed = false;
+    // Per thread, as scenarios may run in parallel
+    private final ThreadLocal<String> currentTestCaseId = new ThreadLocal<>();
+    private final Map<String, List<Boolean>> testResults = new ConcurrentHashMap<>();
+    private final ThreadLocal<Boolean> currentScenarioFailed = ThreadLocal.withInitial(() -> false);
 
     @Override
     public void startTest(String name, Collection<String> tags) {
-        currentScenarioFailed = false;
+        currentScenarioFailed.set(false);
     }
 
     @Override
     public void logPass(String message) {
-        currentScenarioFailed = false;
+        currentScenarioFailed.set(false);
     }
 
     @Override
     public void logFail(String message) {
-        currentScenarioFailed = true;
+        currentScenarioFailed.set(true);
     }
 
     @Override
@@ -43,19 +45,19 @@ public class AzureDevOpsReporter implements TestReporter {
 
     @Override
     public void logException(Throwable throwable) {
-        currentScenarioFailed = true;
+        currentScenarioFailed.set(true);
     }
 
     @Override
     public void endTest() {
-        if (currentTestCaseId == null) return;
+        String testCaseId = currentTestCaseId.get();
+        if (testCaseId == null) return;
 
-        testResults.putIfAbsent(currentTestCaseId, new ArrayList<>());
-        testResults.get(currentTestCaseId).add(currentScenarioFailed);
+        testResults.computeIfAbsent(testCaseId, id -> Collections.synchronizedList(new ArrayList<>())).add(currentScenarioFailed.get());
     }
 
     public void setCurrentTestCaseId(String testCaseId) {
-        this.currentTestCaseId = testCaseId;
+        this.currentTestCaseId.set(testCaseId);
     }
 
     public void flushResults(String testCaseId) {
@@ -0,0 +1,64 @@
+package com.spring.befwlc.v2.reporting;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.spring.befwlc.v2.util.LatencyRecorder;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Publish-to-match latencies of the whole run, aggregated per feature file and per tag. The
+ * percentiles go into the Extent report as a node of their own when the test context closes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatencySummary {
+    private static final String[] COLUMNS = {"Group", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)", "Matches"};
+
+    private final ExtentReports extentReports;
+    private final Map<String, LatencyRecorder> byFeature = new ConcurrentSkipListMap<>();
+    private final Map<String, LatencyRecorder> byTag = new ConcurrentSkipListMap<>();
+
+    public void record(String feature, Collection<String> tags, List<Long> latenciesMillis) {
+        if (latenciesMillis.isEmpty()) return;
+        List<LatencyRecorder> recorders = new ArrayList<>();
+        recorders.add(byFeature.computeIfAbsent(feature, f -> new LatencyRecorder()));
+        for (String tag : tags) recorders.add(byTag.computeIfAbsent(tag, t -> new LatencyRecorder()));
+        for (long millis : latenciesMillis) {
+            for (LatencyRecorder recorder : recorders) recorder.record(millis * 1_000_000L);
+        }
+    }
+
+    @PreDestroy
+    public void publish() {
+        if (byFeature.isEmpty()) return;
+        List<String[]> rows = new ArrayList<>();
+        rows.add(COLUMNS);
+        byFeature.forEach((feature, recorder) -> rows.add(row("Feature " + feature, recorder)));
+        byTag.forEach((tag, recorder) -> rows.add(row("Tag " + tag, recorder)));
+
+        ExtentTest test = extentReports.createTest("End-to-end latency");
+        test.info(MarkupHelper.createTable(rows.toArray(String[][]::new)));
+        extentReports.flush();
+        byFeature.forEach((feature, recorder) -> log.info("End-to-end latency for {}: {}", feature, recorder.summary()));
+    }
+
+    private static String[] row(String group, LatencyRecorder recorder) {
+        return new String[]{group,
+                String.format("%.0f", recorder.percentileMillis(50)),
+                String.format("%.0f", recorder.percentileMillis(95)),
+                String.format("%.0f", recorder.percentileMillis(99)),
+                String.format("%.0f", recorder.percentileMillis(100)),
+                String.valueOf(recorder.count())};
+    }
+}
@@ -0,0 +1,33 @@
+package com.spring.befwlc.v2.util;
+
+import java.util.Arrays;
+
+/** Collects latencies in nanoseconds from any thread and reports percentiles over all of them. */
+public class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) samples = Arrays.copyOf(samples, count * 2);
+        samples[count++] = nanos;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /** The given percentile (0-100) in milliseconds, or {@code NaN} when nothing was recorded. */
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) return Double.NaN;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(rank, count - 1))] / 1_000_000.0;
+    }
+
+    public synchronized String summary() {
+        if (count == 0) return "no samples";
+        return String.format("p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms (n=%d)",
+                percentileMillis(50), percentileMillis(95), percentileMillis(99), percentileMillis(100), count);
+    }
+}
@@ -0,0 +1,39 @@
+package com.spring.befwlc.v2.util;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-thread randomness for generated test data. Unseeded, it is {@link ThreadLocalRandom}. After
+ * {@link #reseed} with a seed, the calling thread draws from a {@link Random} derived from that
+ * seed and a key such as the scenario location, so a rerun with the same seed generates the same
+ * values for the same scenario, whichever thread runs it.
+ */
+public final class RandomSource {
+    private static final ThreadLocal<Random> SEEDED = new ThreadLocal<>();
+
+    private RandomSource() {}
+
+    public static Random current() {
+        Random seeded = SEEDED.get();
+        return seeded != null ? seeded : ThreadLocalRandom.current();
+    }
+
+    /** Seeds this thread from {@code seed} and {@code key}; a {@code null} seed goes back to unseeded. */
+    public static void reseed(Long seed, String key) {
+        if (seed == null) {
+            SEEDED.remove();
+        } else {
+            SEEDED.set(new Random(seed * 31 + key.hashCode()));
+        }
+    }
+
+    /** A version 4 UUID drawn from {@link #current()} rather than the shared secure generator. */
+    public static UUID uuid() {
+        Random random = current();
+        long most = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long least = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(most, least);
+    }
+}
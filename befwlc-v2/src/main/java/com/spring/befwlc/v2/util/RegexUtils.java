@@ -3,29 +3,50 @@ package com.spring.befwlc.v2.util;
 import com.spring.befwlc.v2.exception.TestExecutionException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Regex helpers over one shared cache of compiled patterns. The constants below are compiled up
+ * front; any other regex is compiled on first use and cached until the cache is full, after which
+ * new ones are compiled per call.
+ */
 public final class RegexUtils {
     public static final String JSON_IS_ARRAY_ACCESS = ".*\\[\\d+]$";
     public static final String JSON_ARRAY_INDEX = "\\[.*";
-    public static final String STATIC_METHOD_PATTERN = "^(\\$[A-Z0-9_]+).*";
-    public static final String STATIC_METHOD_NAME = "^(\\$[A-Z0-9_]+)";
-    public static final String CALLABLE_METHOD_PATTERN = "^(\\$[A-Z0-9_]+\\(.*\\))";
-    public static final String CALLABLE_METHOD_NAME = "^(\\$[A-Z0-9_]+\\()";
-    public static final String CALLABLE_METHOD_ARGS = "(\\$[A-Z0-9_]+\\(([^,)]+(,[^,)]+)*\\))|([^,]+)";
+    public static final String INTEGER = "-?\\d+";
+    public static final String DECIMAL = "-?\\d+\\.\\d+";
 
-    private static final Pattern JSON_IS_ARRAY_ACCESS_COMPILED = Pattern.compile(JSON_IS_ARRAY_ACCESS);
-    private static final Pattern STATIC_METHOD_PATTERN_COMPILED = Pattern.compile(STATIC_METHOD_PATTERN);
-    private static final Pattern CALLABLE_METHOD_PATTERN_COMPILED = Pattern.compile(CALLABLE_METHOD_PATTERN);
+    private static final int MAX_CACHED_PATTERNS = 512;
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    static {
+        for (String regex : List.of(JSON_IS_ARRAY_ACCESS, JSON_ARRAY_INDEX, INTEGER, DECIMAL)) {
+            PATTERNS.put(regex, Pattern.compile(regex));
+        }
+    }
 
     private RegexUtils() {}
 
+    public static Pattern pattern(String regex) {
+        Pattern cached = PATTERNS.get(regex);
+        if (cached != null) return cached;
+        Pattern compiled = Pattern.compile(regex);
+        if (PATTERNS.size() < MAX_CACHED_PATTERNS) PATTERNS.putIfAbsent(regex, compiled);
+        return compiled;
+    }
+
+    private static Matcher matcher(String input, String regex) {
+        return pattern(regex).matcher(input);
+    }
+
     public static List<String> captureAll(String input, String regex) {
         return captureAll(input, regex, 0);
     }
     public static List<String> captureAll(String input, String regex, int groupIndex) {
-        Matcher matcher = Pattern.compile(regex).matcher(input);
+        Matcher matcher = matcher(input, regex);
         List<String> values = new ArrayList<>();
         while (matcher.find()) { values.add(matcher.group(groupIndex)); }
         return values;
@@ -38,17 +59,9 @@ public final class RegexUtils {
         return values.get(0);
     }
     public static boolean matches(String input, String regex) {
-        Pattern compiled = getCompiledPattern(regex);
-        if (compiled != null) {
-            return compiled.matcher(input).matches();
-        }
-        return Pattern.compile(regex).matcher(input).matches();
+        return matcher(input, regex).matches();
     }
-
-    private static Pattern getCompiledPattern(String regex) {
-        if (regex.equals(JSON_IS_ARRAY_ACCESS)) return JSON_IS_ARRAY_ACCESS_COMPILED;
-        if (regex.equals(STATIC_METHOD_PATTERN)) return STATIC_METHOD_PATTERN_COMPILED;
-        if (regex.equals(CALLABLE_METHOD_PATTERN)) return CALLABLE_METHOD_PATTERN_COMPILED;
-        return null;
+    public static String replaceAll(String input, String regex, String replacement) {
+        return matcher(input, regex).replaceAll(replacement);
     }
 }
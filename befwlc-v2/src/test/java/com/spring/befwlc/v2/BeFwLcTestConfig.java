@@ -2,7 +2,9 @@ package com.spring.befwlc.v2;
 
 import com.spring.befwlc.v2.config.AwaitProperties;
 import com.spring.befwlc.v2.config.AzureProperties;
+import com.spring.befwlc.v2.config.DslProperties;
 import com.spring.befwlc.v2.config.KafkaProperties;
+import com.spring.befwlc.v2.config.PayloadProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.ComponentScan;
@@ -12,7 +14,9 @@ import org.springframework.context.annotation.ComponentScan;
 @EnableConfigurationProperties({
         KafkaProperties.class,
         AwaitProperties.class,
-        AzureProperties.class
+        AzureProperties.class,
+        PayloadProperties.class,
+        DslProperties.class
 })
 public class BeFwLcTestConfig {
 }
@@ -4,6 +4,11 @@ import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
 import org.testng.annotations.DataProvider;
 
+/**
+ * Scenarios run on TestNG's data provider threads, {@code cucumber.threads} of them (one by default).
+ * More than one needs {@code kafka.store.correlation-paths}, so scenarios do not share Kafka messages,
+ * and correlation in turn needs a {@code max-records} or {@code max-age-seconds} cap.
+ */
 @CucumberOptions(
         features = "classpath:features",
         glue = {"com.spring.befwlc.v2.steps"},
@@ -20,7 +25,7 @@ public class CucumberRunner extends AbstractTestNGCucumberTests {
     }
 
     @Override
-    @DataProvider(parallel = false)
+    @DataProvider(parallel = true)
     public Object[][] scenarios() {
         return super.scenarios();
     }
@@ -9,6 +9,9 @@ import io.cucumber.java.en.Then;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -26,6 +29,20 @@ public class KafkaAssertSteps {
         messageAwaiter.awaitMatch(filterSet);
     }
 
+    /** One expectation per table row; blank cells leave that field unchecked for the row. */
+    @Then("the following events are posted on {string} topic")
+    public void assertMessagesPosted(String topic, List<Map<String, String>> rows) {
+        List<MessageFilterSet> filterSets = new ArrayList<>();
+        for (Map<String, String> row : rows) {
+            Map<String, String> filters = new LinkedHashMap<>();
+            row.forEach((path, value) -> { if (value != null) filters.put(path, value); });
+            MessageFilterSet filterSet = new MessageFilterSet(filters, dslResolver, scenarioContext);
+            filterSet.addFilter(KafkaConstants.TOPIC, topic);
+            filterSets.add(filterSet);
+        }
+        messageAwaiter.awaitMatches(filterSets);
+    }
+
     @Then("no event with the following fields is posted on {string} topic")
     public void assertMessageNotPosted(String topic, Map<String, String> filters) {
         MessageFilterSet filterSet = new MessageFilterSet(filters, dslResolver, scenarioContext);
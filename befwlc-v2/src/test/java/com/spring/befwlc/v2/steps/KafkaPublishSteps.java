@@ -1,15 +1,20 @@
 package com.spring.befwlc.v2.steps;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.spring.befwlc.v2.context.ContextKey;
 import com.spring.befwlc.v2.context.ScenarioContext;
+import com.spring.befwlc.v2.dsl.CorrelationIdGenerator;
+import com.spring.befwlc.v2.exception.TestExecutionException;
 import com.spring.befwlc.v2.kafka.KafkaProducerService;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.When;
 import io.cucumber.spring.CucumberContextConfiguration;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.support.SendResult;
 import test.prof.events.TransactionCreated;
 
 import java.util.*;
@@ -24,29 +29,65 @@ public class KafkaPublishSteps {
     private final ObjectMapper objectMapper;
     private final ScenarioContext scenarioContext;
     private final PayloadSteps payloadSteps;
+    private final CorrelationIdGenerator correlationIds;
 
     @When("{string} payload with the following details is posted on {string} endpoint")
     public void publishPayload(String jsonFile, String topic, DataTable dataTable) throws Exception {
-        String benefId = UUID.randomUUID().toString().replace("-", "").substring(0, 8);
-        scenarioContext.put(ContextKey.BENEFICIARY_ID, benefId);
+        TransactionCreated transaction = preparePayload(jsonFile, dataTable);
+        scenarioContext.addPublishTime(scenarioContext.get(ContextKey.TX_SEQ, String.class),
+                publishedAt(producerService.sendMessage(transaction)));
+        log.info("Published message to topic '{}' with benefId={} txSeq={}", topic,
+                scenarioContext.get(ContextKey.BENEFICIARY_ID, String.class), scenarioContext.get(ContextKey.TX_SEQ, String.class));
+    }
+
+    /**
+     * Publishes {@code count} copies of the payload, each with its own beneficiary id and transaction
+     * sequence, and waits for all acknowledgements together. The context keeps the last copy's values;
+     * publish times are kept for every copy, by its transaction sequence.
+     */
+    @When("{int} {string} payloads with the following details are posted on {string} endpoint")
+    public void publishPayloads(int count, String jsonFile, String topic, DataTable dataTable) throws Exception {
+        if (count < 1) {
+            throw new TestExecutionException("Step '%d \"%s\" payloads ... are posted on \"%s\" endpoint' needs a count of at least 1",
+                    count, jsonFile, topic);
+        }
+        List<TransactionCreated> transactions = new ArrayList<>(count);
+        List<String> txSeqs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(preparePayload(jsonFile, dataTable));
+            txSeqs.add(scenarioContext.get(ContextKey.TX_SEQ, String.class));
+        }
+        List<SendResult<String, TransactionCreated>> results = producerService.sendMessages(transactions);
+        for (int i = 0; i < count; i++) {
+            scenarioContext.addPublishTime(txSeqs.get(i), publishedAt(results.get(i)));
+        }
+        log.info("Published {} messages to topic '{}'", count, topic);
+    }
+
+    /** The record timestamp the producer stamped, or now when the broker did not return one. */
+    private static long publishedAt(SendResult<String, TransactionCreated> result) {
+        RecordMetadata metadata = result.getRecordMetadata();
+        return metadata.hasTimestamp() ? metadata.timestamp() : System.currentTimeMillis();
+    }
 
-        String json = payloadSteps.loadJson(jsonFile);
+    private TransactionCreated preparePayload(String jsonFile, DataTable dataTable) throws Exception {
+        // One id for both keys, unique across the run, so parallel scenarios never match each other's messages
+        long correlationId = correlationIds.next();
+        String benefId = CorrelationIdGenerator.beneficiaryId(correlationId);
+        scenarioContext.put(ContextKey.BENEFICIARY_ID, benefId);
 
-        String txSeq = String.valueOf(new Random().nextInt(999999999 - 1000 + 1) + 1000);
+        String txSeq = CorrelationIdGenerator.transactionSequence(correlationId);
         scenarioContext.put(ContextKey.TX_SEQ, txSeq);
+        scenarioContext.addCorrelationKey(benefId);
+        scenarioContext.addCorrelationKey(txSeq);
 
         Map<String, String> modifications = new HashMap<>(dataTable.asMap(String.class, String.class));
         modifications.put("body.receivingPartyName", benefId);
         modifications.put("body.transactionIdentifierSequence", txSeq);
 
-        for (Map.Entry<String, String> entry : modifications.entrySet()) {
-            json = payloadSteps.updateField(json, entry.getKey(), entry.getValue());
-        }
-
-        scenarioContext.put(ContextKey.LAST_PAYLOAD, json);
+        JsonNode payload = payloadSteps.buildPayload(jsonFile, modifications);
+        scenarioContext.put(ContextKey.LAST_PAYLOAD, payload);
 
-        TransactionCreated transaction = objectMapper.readValue(json, TransactionCreated.class);
-        producerService.sendMessage(transaction);
-        log.info("Published message to topic '{}' with benefId={} txSeq={}", topic, benefId, txSeq);
+        return objectMapper.treeToValue(payload, TransactionCreated.class);
     }
 }
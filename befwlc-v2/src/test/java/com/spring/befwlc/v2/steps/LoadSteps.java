@@ -0,0 +1,53 @@
+package com.spring.befwlc.v2.steps;
+
+import com.spring.befwlc.v2.context.ContextKey;
+import com.spring.befwlc.v2.context.ScenarioContext;
+import com.spring.befwlc.v2.exception.TestExecutionException;
+import com.spring.befwlc.v2.load.LoadGenerator;
+import com.spring.befwlc.v2.load.LoadProfile;
+import com.spring.befwlc.v2.load.LoadReport;
+import com.spring.befwlc.v2.reporting.TestReporter;
+import io.cucumber.datatable.DataTable;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+public class LoadSteps {
+
+    private final LoadGenerator loadGenerator;
+    private final ScenarioContext scenarioContext;
+    private final List<TestReporter> reporters;
+
+    @When("{string} payload is posted on {string} endpoint at {int} messages per second for {int} seconds with the following details")
+    public void generateLoad(String jsonFile, String topic, int ratePerSecond, int durationSeconds, DataTable dataTable) {
+        LoadProfile profile = new LoadProfile(jsonFile, dataTable.asMap(String.class, String.class), ratePerSecond, durationSeconds);
+        LoadReport report = loadGenerator.run(profile, scenarioContext);
+        scenarioContext.put(ContextKey.LOAD_REPORT, report);
+        reporters.forEach(r -> r.logInfo(report.toString()));
+    }
+
+    @Then("the load run achieved at least {int} messages per second")
+    public void assertAchievedRate(int minimumRate) {
+        LoadReport report = scenarioContext.get(ContextKey.LOAD_REPORT, LoadReport.class);
+        if (report.achievedRate() < minimumRate) {
+            throw new TestExecutionException("Load run achieved %.1f msg/s, expected at least %d", report.achievedRate(), minimumRate);
+        }
+    }
+
+    @Then("the load run p{int} end-to-end latency is below {int} ms")
+    public void assertEndToEndLatency(int percentile, int maxMillis) {
+        LoadReport report = scenarioContext.get(ContextKey.LOAD_REPORT, LoadReport.class);
+        double latency = report.getEndToEndLatency().percentileMillis(percentile);
+        if (Double.isNaN(latency)) {
+            throw new TestExecutionException("Load run recorded no responses to measure end-to-end latency");
+        }
+        if (latency >= maxMillis) {
+            throw new TestExecutionException("Load run p%d end-to-end latency was %.1f ms, expected below %d ms", percentile, latency, maxMillis);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.spring.befwlc.v2.steps;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.spring.befwlc.v2.payload.PayloadLoader;
 import com.spring.befwlc.v2.payload.PayloadMutator;
+import com.spring.befwlc.v2.payload.PayloadTemplate;
 import com.spring.befwlc.v2.reporting.AzureDevOpsReporter;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Given;
@@ -33,11 +35,9 @@ public class PayloadSteps {
         }
     }
 
-    public String loadJson(String jsonFile) {
-        return payloadLoader.loadJson(jsonFile);
-    }
-
-    public String updateField(String json, String path, String value) {
-        return payloadMutator.setValue(json, path, value);
+    /** A fresh copy of the payload file's tree with all modifications applied in one pass. */
+    public JsonNode buildPayload(String jsonFile, Map<String, String> modifications) {
+        PayloadTemplate template = payloadLoader.loadTemplate(jsonFile);
+        return payloadMutator.apply(template.copy(), modifications);
     }
 }
@@ -1,14 +1,19 @@
 package com.spring.befwlc.v2.steps;
 
+import com.spring.befwlc.v2.config.DslProperties;
+import com.spring.befwlc.v2.context.ScenarioContext;
 import com.spring.befwlc.v2.kafka.KafkaListenerReadyGuard;
 import com.spring.befwlc.v2.kafka.KafkaMessageStore;
+import com.spring.befwlc.v2.reporting.LatencySummary;
 import com.spring.befwlc.v2.reporting.TestReporter;
+import com.spring.befwlc.v2.util.RandomSource;
 import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 
@@ -19,11 +24,20 @@ public class ScenarioHooks {
     private final List<TestReporter> reporters;
     private final KafkaListenerReadyGuard listenerReadyGuard;
     private final KafkaMessageStore messageStore;
+    private final ScenarioContext scenarioContext;
+    private final LatencySummary latencySummary;
+    private final DslProperties dslProperties;
 
     @Before(order = 0)
     public void waitForKafka() {
         listenerReadyGuard.waitForListeners();
-        messageStore.clear();
+        // A partitioned store is shared by scenarios running in parallel; each releases its own partitions and the caps drop the rest
+        if (!messageStore.isCorrelated()) messageStore.clear();
+    }
+
+    @Before(order = 0)
+    public void seedRandom(Scenario scenario) {
+        RandomSource.reseed(dslProperties.getRandomSeed(), scenario.getUri() + ":" + scenario.getLine());
     }
 
     @Before(order = 1)
@@ -32,6 +46,22 @@ public class ScenarioHooks {
         reporters.forEach(r -> r.startTest(scenario.getName(), tags));
     }
 
+    /** Runs before {@link #endReporting} so the latencies land in the scenario's report entries. */
+    @After(order = 20000)
+    public void reportLatency(Scenario scenario) {
+        List<Long> latencies = scenarioContext.getMatchLatencies();
+        if (latencies.isEmpty()) return;
+        // classpath: URIs are opaque, so take the file name from the string form
+        String uri = scenario.getUri().toString();
+        String feature = uri.substring(uri.lastIndexOf('/') + 1);
+        latencySummary.record(feature, scenario.getSourceTagNames(), latencies);
+
+        String message = "Publish-to-match latency (ms): " + latencies;
+        reporters.forEach(r -> r.logInfo(message));
+        scenario.attach(("{\"latenciesMillis\":" + latencies + "}").getBytes(StandardCharsets.UTF_8),
+                "application/json", "End-to-end latency");
+    }
+
     @After
     public void endReporting(Scenario scenario) {
         if (scenario.isFailed()) {
@@ -41,4 +71,11 @@ public class ScenarioHooks {
         }
         reporters.forEach(TestReporter::endTest);
     }
+
+    @After
+    public void releaseMessages() {
+        if (!messageStore.isCorrelated()) return;
+        int released = messageStore.release(scenarioContext.getCorrelationKeys());
+        log.debug("Released {} Kafka messages for correlation keys {}", released, scenarioContext.getCorrelationKeys());
+    }
 }
@@ -0,0 +1,93 @@
+package com.spring.befwlc.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.befwlc.v2.kafka.AvroJsonDecoder;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import test.prof.events.TransactionCreated;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a framed {@code TransactionCreated} payload into the envelope's message tree: through a
+ * {@code GenericRecord} and its {@code toString()}, as the listeners used to, and with
+ * {@link AvroJsonDecoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvroJsonDecoderBenchmark {
+    private static final int SCHEMA_ID = 1;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] payload;
+    private GenericDatumReader<GenericRecord> datumReader;
+    private AvroJsonDecoder decoder;
+
+    @Setup
+    public void setUp() throws IOException {
+        Schema schema = TransactionCreated.getClassSchema();
+        JsonNode message = new EnvelopeFixtures().fullEnvelope().get("Message");
+        payload = frame(record(schema, message));
+        datumReader = new GenericDatumReader<>(schema);
+        decoder = new AvroJsonDecoder(id -> new AvroSchema(schema), objectMapper);
+    }
+
+    @Benchmark
+    public JsonNode genericRecordToString() throws IOException {
+        GenericRecord record = datumReader.read(null, DecoderFactory.get().binaryDecoder(payload, 5, payload.length - 5, null));
+        return objectMapper.readTree(record.toString());
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return decoder.decode(payload);
+    }
+
+    private static GenericRecord record(Schema schema, JsonNode values) {
+        GenericData.Record record = new GenericData.Record(schema);
+        for (Schema.Field field : schema.getFields()) {
+            JsonNode value = values.path(field.name());
+            if (field.schema().getType() == Schema.Type.RECORD) {
+                record.put(field.name(), record(field.schema(), value));
+            } else {
+                record.put(field.name(), value.isValueNode() && !value.isNull() ? value.asText() : null);
+            }
+        }
+        return record;
+    }
+
+    private static byte[] frame(GenericRecord record) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0);
+        out.write(ByteBuffer.allocate(4).putInt(SCHEMA_ID).array());
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+        new GenericDatumWriter<GenericRecord>(record.getSchema()).write(record, encoder);
+        encoder.flush();
+        return out.toByteArray();
+    }
+}
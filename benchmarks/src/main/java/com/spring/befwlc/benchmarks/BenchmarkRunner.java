@@ -0,0 +1,42 @@
+package com.spring.befwlc.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the usual JMH command line and, unless told
+ * otherwise, attaches the GC profiler for allocation rates and writes results as JSON
+ * ({@code jmh-result.json} in the working directory) so runs can be compared across commits.
+ *
+ * <p>The module depends on the plain jars of {@code befwlc-v2} and the legacy framework, so install
+ * both ({@code mvn install -DskipTests}) before {@code mvn package} here. Then, for example:
+ * <pre>
+ * java -jar target/benchmarks.jar MessageMatcherBenchmark -p storeSize=10000,100000
+ * </pre>
+ * The one-million-record store benchmarks fork with an 8 GB heap.
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
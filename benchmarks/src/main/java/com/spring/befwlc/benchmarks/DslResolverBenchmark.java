@@ -0,0 +1,55 @@
+package com.spring.befwlc.benchmarks;
+
+import com.spring.befwlc.v2.config.DslProperties;
+import com.spring.befwlc.v2.context.ScenarioContext;
+import com.spring.befwlc.v2.dsl.BuiltInFunctions;
+import com.spring.befwlc.v2.dsl.CorrelationIdGenerator;
+import com.spring.befwlc.v2.dsl.DslRegistry;
+import com.spring.befwlc.v2.dsl.DslResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving data table values through the v2 DSL: a literal that passes straight through, static
+ * methods looked up in the registry, a nested call to pure functions that compiles to a constant,
+ * and a call whose argument changes on every resolve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DslResolverBenchmark {
+
+    @Param({"RON", "$SHORT_UUID", "$SYS_SHORT_DATE", "$MERGE_VALUES($TO_UPPER_CASE(ron),-X)", "$MERGE_VALUES($SHORT_UUID,-X)"})
+    private String expression;
+
+    private DslResolver resolver;
+    private ScenarioContext context;
+
+    @Setup
+    public void setUp() {
+        BuiltInFunctions builtInFunctions = new BuiltInFunctions(new CorrelationIdGenerator(new DslProperties()));
+        DslRegistry registry = new DslRegistry(builtInFunctions);
+        builtInFunctions.registerAll(registry);
+        resolver = new DslResolver(registry);
+        context = new ScenarioContext();
+    }
+
+    @Benchmark
+    public String resolve() {
+        return resolver.resolve(expression, context);
+    }
+}
@@ -0,0 +1,68 @@
+package com.spring.befwlc.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.entry_filter.EntryFilters;
+import com.spring.befwlc.entry_filter.EntryFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One legacy verification pass: {@link EntryFinder#findEntryByFilters} over every consumed record,
+ * for a filter set that matches nothing ({@code miss}) and one that matches a record in the middle
+ * ({@code hit}). Records are never removed so every invocation sees the same list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class EntryFinderBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int storeSize;
+
+    @Param({"1", "5", "15", "30"})
+    private int filterCount;
+
+    private List<ObjectNode> entries;
+    private EntryFilters missFilters;
+    private EntryFilters hitFilters;
+
+    @Setup
+    public void setUp() {
+        EnvelopeFixtures fixtures = new EnvelopeFixtures();
+        entries = new ArrayList<>(fixtures.envelopes(storeSize));
+        missFilters = entryFilters(fixtures, storeSize);
+        hitFilters = entryFilters(fixtures, storeSize / 2);
+    }
+
+    @Benchmark
+    public List<ObjectNode> miss() {
+        return EntryFinder.findEntryByFilters(entries, missFilters, false);
+    }
+
+    @Benchmark
+    public List<ObjectNode> hit() {
+        return EntryFinder.findEntryByFilters(entries, hitFilters, false);
+    }
+
+    private EntryFilters entryFilters(EnvelopeFixtures fixtures, int index) {
+        EntryFilters filters = new EntryFilters();
+        fixtures.filtersFor(index, filterCount).forEach(filters::addFilter);
+        return filters;
+    }
+}
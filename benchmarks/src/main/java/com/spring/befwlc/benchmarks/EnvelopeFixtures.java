@@ -0,0 +1,127 @@
+package com.spring.befwlc.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds Kafka envelopes shaped like the ones both frameworks store for a consumed
+ * {@code TransactionCreated} event: topic, partition, offset, timestamp, headers and the decoded message.
+ *
+ * <p>The header subtree and Kafka headers are shared across envelopes. Each body carries the first
+ * {@link #BODY_FIELD_COUNT} template fields with values unique to the record, so a filter set built
+ * for one record matches no other record on any key. That keeps the measurement on the scan itself
+ * and lets a million envelopes fit in a benchmark fork's heap.
+ */
+public final class EnvelopeFixtures {
+    public static final int BODY_FIELD_COUNT = 30;
+    public static final String TOPIC = "billing-engine-outbound";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SCHEMA = "Schema";
+    private static final String TEMPLATE = "/payload/template.json";
+
+    private final ObjectNode header;
+    private final ObjectNode headers;
+    private final ObjectNode fullMessage;
+    private final Map<String, String> bodyTemplate = new LinkedHashMap<>();
+
+    public EnvelopeFixtures() {
+        ObjectNode template = stripSchemas(readTemplate());
+        header = (ObjectNode) template.get("header");
+        fullMessage = template;
+
+        Iterator<Map.Entry<String, JsonNode>> fields = template.get("body").fields();
+        while (fields.hasNext() && bodyTemplate.size() < BODY_FIELD_COUNT) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String value = field.getValue().isNull() ? field.getKey() : field.getValue().asText();
+            bodyTemplate.put(field.getKey(), value);
+        }
+
+        headers = MAPPER.createObjectNode();
+        headers.put("eventType", header.path("eventType").asText());
+        headers.put("source", header.path("source").asText());
+    }
+
+    /** Returns {@code count} compact envelopes numbered from zero. */
+    public List<ObjectNode> envelopes(int count) {
+        List<ObjectNode> envelopes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            envelopes.add(envelope(i));
+        }
+        return envelopes;
+    }
+
+    /** Returns a compact envelope for record {@code index}. */
+    public ObjectNode envelope(int index) {
+        ObjectNode body = MAPPER.createObjectNode();
+        bodyTemplate.forEach((key, value) -> body.put(key, value(key, value, index)));
+
+        ObjectNode message = MAPPER.createObjectNode();
+        message.set("header", header);
+        message.set("body", body);
+        return wrap(message, index);
+    }
+
+    /** Returns an envelope around the full, uncompacted template message. */
+    public ObjectNode fullEnvelope() {
+        return wrap(fullMessage.deepCopy(), 0);
+    }
+
+    /**
+     * Returns {@code count} filters, keyed by dot path from the envelope root, that fully match
+     * record {@code index}. Passing an index outside the store gives a set that matches nothing.
+     */
+    public Map<String, String> filtersFor(int index, int count) {
+        if (count > BODY_FIELD_COUNT) {
+            throw new IllegalArgumentException("At most " + BODY_FIELD_COUNT + " filters are available, got " + count);
+        }
+        Map<String, String> filters = new LinkedHashMap<>();
+        for (Map.Entry<String, String> field : bodyTemplate.entrySet()) {
+            if (filters.size() == count) break;
+            filters.put("Message.body." + field.getKey(), value(field.getKey(), field.getValue(), index));
+        }
+        return filters;
+    }
+
+    private ObjectNode wrap(ObjectNode message, int index) {
+        ObjectNode envelope = MAPPER.createObjectNode();
+        envelope.put("topic", TOPIC);
+        envelope.put("Partition", 0);
+        envelope.put("Offset", (long) index);
+        envelope.put("Timestamp", 1_700_000_000_000L + index);
+        envelope.set("Message", message);
+        envelope.set("Headers", headers);
+        return envelope;
+    }
+
+    private static String value(String key, String templateValue, int index) {
+        return "transactionIdentifierSequence".equals(key) ? String.valueOf(index) : templateValue + "-" + index;
+    }
+
+    private static ObjectNode readTemplate() {
+        try (InputStream in = EnvelopeFixtures.class.getResourceAsStream(TEMPLATE)) {
+            if (in == null) throw new IllegalStateException("Missing benchmark resource " + TEMPLATE);
+            return (ObjectNode) MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ObjectNode stripSchemas(ObjectNode node) {
+        node.remove(SCHEMA);
+        node.forEach(child -> {
+            if (child.isObject()) stripSchemas((ObjectNode) child);
+        });
+        return node;
+    }
+}
@@ -0,0 +1,69 @@
+package com.spring.befwlc.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.entry_filter.json.JsonNodeHelper;
+import com.spring.befwlc.entry_filter.json.JsonNodeInstance;
+import com.spring.befwlc.entry_filter.json.JsonNodePath;
+import com.spring.befwlc.v2.matching.CompiledPath;
+import com.spring.befwlc.v2.matching.JsonPathResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a filter key against a full {@code TransactionCreated} envelope, from the raw dot path
+ * and from a path compiled up front, in both frameworks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonPathResolverBenchmark {
+
+    @Param({"topic", "Message.header.messageId", "Message.body.transactionComment", "Message.body.unknownField"})
+    private String path;
+
+    private ObjectNode envelope;
+    private CompiledPath compiledPath;
+    private JsonNodePath legacyPath;
+
+    @Setup
+    public void setUp() {
+        envelope = new EnvelopeFixtures().fullEnvelope();
+        compiledPath = JsonPathResolver.compile(path);
+        legacyPath = JsonNodePath.compile(path);
+    }
+
+    @Benchmark
+    public JsonNode resolveDotPath() {
+        return JsonPathResolver.resolve(envelope, path);
+    }
+
+    @Benchmark
+    public JsonNode resolveCompiled() {
+        return compiledPath.resolve(envelope);
+    }
+
+    @Benchmark
+    public JsonNodeInstance legacyExtractByKey() {
+        return JsonNodeHelper.extractNodeInstanceByKey(envelope, path);
+    }
+
+    @Benchmark
+    public JsonNodeInstance legacyExtractCompiled() {
+        return legacyPath.extractNodeInstance(envelope);
+    }
+}
@@ -0,0 +1,91 @@
+package com.spring.befwlc.benchmarks;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.v2.config.KafkaProperties;
+import com.spring.befwlc.v2.kafka.KafkaMessageStore;
+import com.spring.befwlc.v2.matching.MessageFilterSet;
+import com.spring.befwlc.v2.matching.MessageMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One await poll against the v2 store: fetch the candidates for a filter set and scan them with
+ * {@link MessageMatcher#findMatch}. {@code miss} is the common poll where the expected record has
+ * not arrived yet. {@code hit} scans for a record in the middle of the store the same way but does
+ * not claim it, since removing and re-adding it would move it to the tail for every later invocation.
+ * With {@code offHeap} every candidate is decoded from its serialized form on each poll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class MessageMatcherBenchmark {
+
+    @Param({"100", "10000", "100000", "1000000"})
+    private int storeSize;
+
+    @Param({"1", "5", "15", "30"})
+    private int filterCount;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    @Param({"false", "true"})
+    private boolean offHeap;
+
+    private KafkaMessageStore store;
+    private MessageFilterSet missFilters;
+    private MessageFilterSet hitFilters;
+
+    @Setup
+    public void setUp() {
+        KafkaProperties properties = new KafkaProperties();
+        properties.getStore().setIndexed(indexed);
+        properties.getStore().setOffHeap(offHeap);
+        properties.getStore().setIndexedPaths(List.of("topic", "Headers.*", "Message.body.transactionIdentifierSequence"));
+        store = new KafkaMessageStore(properties);
+
+        EnvelopeFixtures fixtures = new EnvelopeFixtures();
+        for (int i = 0; i < storeSize; i++) {
+            store.add(fixtures.envelope(i));
+        }
+
+        missFilters = filterSet(fixtures, storeSize);
+        hitFilters = filterSet(fixtures, storeSize / 2);
+    }
+
+    @Benchmark
+    public Optional<ObjectNode> miss() {
+        return MessageMatcher.findMatch(store.candidates(missFilters), missFilters, store);
+    }
+
+    @Benchmark
+    public int hit() {
+        int matches = 0;
+        for (ObjectNode candidate : store.candidates(hitFilters)) {
+            if (MessageMatcher.matchOrTrackPartial(candidate, hitFilters)) matches++;
+        }
+        return matches;
+    }
+
+    private MessageFilterSet filterSet(EnvelopeFixtures fixtures, int index) {
+        MessageFilterSet filterSet = new MessageFilterSet();
+        fixtures.filtersFor(index, filterCount).forEach(filterSet::addFilter);
+        return filterSet;
+    }
+}
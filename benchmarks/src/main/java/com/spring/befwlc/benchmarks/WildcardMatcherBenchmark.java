@@ -0,0 +1,65 @@
+package com.spring.befwlc.benchmarks;
+
+import com.spring.befwlc.entry_filter.json.JsonNodeHelper;
+import com.spring.befwlc.entry_filter.json.JsonValuePattern;
+import com.spring.befwlc.v2.matching.WildcardMatcher;
+import com.spring.befwlc.v2.matching.WildcardPattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching a filter value against a node value for each wildcard shape, parsing the pattern on
+ * every call and reusing a pattern compiled up front, in both frameworks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WildcardMatcherBenchmark {
+    private static final String VALUE = "Outgoing RON Domestic Interbank small value";
+
+    @Param({"Outgoing RON Domestic Interbank small value", "Outgoing RON%", "%small value", "%Domestic%", "Incoming RON%"})
+    private String pattern;
+
+    private WildcardPattern compiled;
+    private JsonValuePattern legacyCompiled;
+
+    @Setup
+    public void setUp() {
+        compiled = WildcardMatcher.compile(pattern);
+        legacyCompiled = JsonValuePattern.compile(pattern);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return WildcardMatcher.matches(pattern, VALUE);
+    }
+
+    @Benchmark
+    public boolean matchesCompiled() {
+        return compiled.matches(VALUE);
+    }
+
+    @Benchmark
+    public boolean legacyValuesMatches() {
+        return JsonNodeHelper.valuesMatches(pattern, VALUE);
+    }
+
+    @Benchmark
+    public boolean legacyMatchesCompiled() {
+        return legacyCompiled.matches(VALUE);
+    }
+}
@@ -1,6 +1,9 @@
 package com.spring.befwlc.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.befwlc.service.AvroJsonDecoder;
 import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.serializers.KafkaAvroDeserializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.ByteArrayDeserializer;
@@ -55,6 +58,9 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.listener-handler-limit}")
     private int kafkaListenerHandlerLimit;
 
+    @Value("${spring.kafka.consumer.listener-concurrency:1}")
+    private int kafkaListenerConcurrency;
+
     @Value("${test.kafka.registry-host}")
     private String kafkaRegistryHost;
 
@@ -69,8 +75,18 @@ public class KafkaConsumerConfig {
     }
 
     @Bean
-    public KafkaAvroDeserializer kafkaAvroDeserializer(){
-        return new KafkaAvroDeserializer(new CachedSchemaRegistryClient(kafkaRegistryHost, 1000));
+    public SchemaRegistryClient schemaRegistryClient(){
+        return new CachedSchemaRegistryClient(kafkaRegistryHost, 1000);
+    }
+
+    @Bean
+    public KafkaAvroDeserializer kafkaAvroDeserializer(final SchemaRegistryClient schemaRegistryClient){
+        return new KafkaAvroDeserializer(schemaRegistryClient);
+    }
+
+    @Bean
+    public AvroJsonDecoder avroJsonDecoder(final SchemaRegistryClient schemaRegistryClient, final ObjectMapper objectMapper){
+        return new AvroJsonDecoder(schemaRegistryClient, objectMapper);
     }
 
     @Bean
@@ -115,6 +131,7 @@ public class KafkaConsumerConfig {
     public ConcurrentKafkaListenerContainerFactory<byte[], byte[]> kafkaListenerContainerFactory() {
         final ConcurrentKafkaListenerContainerFactory<byte[], byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(kafkaListenerConcurrency);
         factory.getContainerProperties().setPollTimeout(kafkaPoolTimeout);
         factory.getContainerProperties().setGroupId("test-engine-automation-" + System.getProperty("user.name"));
         return factory;
@@ -1,5 +1,8 @@
 package com.spring.befwlc.entry_filter;
 
+import com.spring.befwlc.entry_filter.json.JsonNodePath;
+import com.spring.befwlc.entry_filter.json.JsonValuePattern;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -12,14 +15,33 @@ import java.util.UUID;
 public class EntryFilter {
 
     private final String key;
+    private final JsonNodePath path;
     private UUID id;
     private String value;
+    @Setter(AccessLevel.NONE)
+    private JsonValuePattern valuePattern;
     private Map<String, String> unmatchedDetails = new TreeMap<>();
 
     public EntryFilter(final String key, final String value){
         this.key = key;
+        this.path = JsonNodePath.compile(key);
         this.value = value;
+        this.valuePattern = JsonValuePattern.compile(value);
         this.id = UUID.randomUUID();
     }
 
+    public EntryFilter(final EntryFilter filter, final Map<String, String> unmatchedDetails){
+        this.key = filter.getKey();
+        this.path = filter.getPath();
+        this.value = filter.getValue();
+        this.valuePattern = filter.getValuePattern();
+        this.id = filter.getId();
+        this.unmatchedDetails = unmatchedDetails;
+    }
+
+    public void setValue(final String value){
+        this.value = value;
+        this.valuePattern = JsonValuePattern.compile(value);
+    }
+
 }
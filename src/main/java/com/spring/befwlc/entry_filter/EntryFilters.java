@@ -1,21 +1,32 @@
 package com.spring.befwlc.entry_filter;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.spring.befwlc.context.ScenarioContext;
 import com.spring.befwlc.exceptions.TestExecutionException;
 import com.spring.befwlc.payload.PayloadHelper;
 import com.spring.befwlc.utils.TransformationUtils;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
 
+import static com.spring.befwlc.service.KafkaConstants.OFFSET;
+import static com.spring.befwlc.service.KafkaConstants.PARTITION;
+import static com.spring.befwlc.service.KafkaConstants.TOPIC;
+
 @Slf4j
 @Getter
 public class EntryFilters {
 
+    /** Partially matched entries kept for diagnostics; once full, only a better candidate replaces the worst. */
+    public static final int MAX_PARTIALLY_MATCHED_ENTRIES = 10;
+
     private final List<EntryFilter> initialFilters = new ArrayList<>();
-    private final List<PartiallyMatchedEntry> partiallyMatchedEntries = new ArrayList<>();
+    // Keyed by topic/partition/offset, so re-scanning an entry is a hash lookup rather than a tree comparison
+    @Getter(AccessLevel.NONE)
+    private final Map<Object, PartiallyMatchedEntry> partiallyMatchedEntries = new LinkedHashMap<>();
     private final List<String> mandatoryFilters = new ArrayList<>();
 
     public EntryFilters(){
@@ -44,14 +55,67 @@ public class EntryFilters {
                 .toList();
     }
 
+    /** Whether a partial match of the entry with this many matched filters would be kept, checked before building it. */
+    public boolean wantsPartiallyMatchedMessage(final ObjectNode kafkaMessage, final int matchedCount) {
+        if (partiallyMatchedEntries.size() >= MAX_PARTIALLY_MATCHED_ENTRIES
+                && matchedCount <= worstPartiallyMatchedEntry().getValue().getMatchedFilters().size()) {
+            return false;
+        }
+        return !partiallyMatchedEntries.containsKey(entryKey(kafkaMessage));
+    }
+
     public void addPartiallyMatchedMessage(final List<EntryFilter> matchedFilters, final List<EntryFilter> unmatchedFilters,
                                            final ObjectNode kafkaMessage) {
-        final boolean isUnmatchedFilters = unmatchedFilters.size() != initialFilters.size();
-        final boolean hasMessage = partiallyMatchedEntries.stream()
-                .anyMatch(partiallyMatchedEntry -> partiallyMatchedEntry.getEntry().equals(kafkaMessage));
+        if (unmatchedFilters.isEmpty() || unmatchedFilters.size() == initialFilters.size()) {
+            return;
+        }
+        final Object key = entryKey(kafkaMessage);
+        if (partiallyMatchedEntries.containsKey(key)) {
+            return;
+        }
+        if (partiallyMatchedEntries.size() >= MAX_PARTIALLY_MATCHED_ENTRIES) {
+            final Map.Entry<Object, PartiallyMatchedEntry> worst = worstPartiallyMatchedEntry();
+            if (matchedFilters.size() <= worst.getValue().getMatchedFilters().size()) {
+                return;
+            }
+            partiallyMatchedEntries.remove(worst.getKey());
+        }
+        partiallyMatchedEntries.put(key, new PartiallyMatchedEntry(matchedFilters, unmatchedFilters, kafkaMessage));
+    }
+
+    public List<PartiallyMatchedEntry> getPartiallyMatchedEntries() {
+        return new ArrayList<>(partiallyMatchedEntries.values());
+    }
+
+    /** The fewest matched filters, the earliest tracked of those on a tie. */
+    private Map.Entry<Object, PartiallyMatchedEntry> worstPartiallyMatchedEntry() {
+        Map.Entry<Object, PartiallyMatchedEntry> worst = null;
+        for (final Map.Entry<Object, PartiallyMatchedEntry> entry : partiallyMatchedEntries.entrySet()) {
+            if (worst == null || entry.getValue().getMatchedFilters().size() < worst.getValue().getMatchedFilters().size()) {
+                worst = entry;
+            }
+        }
+        return worst;
+    }
+
+    /** Topic, partition and offset of a Kafka entry; the instance itself for entries without them. */
+    private static Object entryKey(final ObjectNode entry) {
+        final JsonNode offset = entry.get(OFFSET);
+        if (offset == null) {
+            return new IdentityKey(entry);
+        }
+        return entry.path(TOPIC).asText() + '/' + entry.path(PARTITION).asInt() + '/' + offset.asLong();
+    }
+
+    private record IdentityKey(ObjectNode entry) {
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof IdentityKey other && other.entry == entry;
+        }
 
-        if (isUnmatchedFilters && !hasMessage) {
-            partiallyMatchedEntries.add(new PartiallyMatchedEntry(matchedFilters, unmatchedFilters, kafkaMessage));
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(entry);
         }
     }
 
@@ -65,11 +129,11 @@ public class EntryFilters {
     public List<PartiallyMatchedEntry> getPartiallyMatchedEntriesWithMatchedKeys(final String[] uniqueMatchedKeys){
         final List<String> matchedKeys = Arrays.asList(uniqueMatchedKeys);
         if(matchedKeys.isEmpty()){
-            return partiallyMatchedEntries;
+            return getPartiallyMatchedEntries();
         }
 
         log.info("Unique Kafka message keys: {}", TransformationUtils.objectToPrettyString(matchedKeys));
-        return partiallyMatchedEntries.stream()
+        return partiallyMatchedEntries.values().stream()
                 .filter(partiallyMatchedEntry -> partiallyMatchedEntry.getMatchedFilters().stream()
                         .anyMatch(entryFilter -> matchedKeys.contains(entryFilter.getKey()) && !Objects.equals(entryFilter.getValue(), "null")))
                 .toList();
@@ -1,10 +1,9 @@
 package com.spring.befwlc.entry_filter;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.spring.befwlc.context.ScenarioContext;
 import com.spring.befwlc.context.ScenarioContextKeys;
-import com.spring.befwlc.entry_filter.json.JsonNodeHelper;
-import com.spring.befwlc.entry_filter.json.JsonNodeInstance;
 import com.spring.befwlc.exceptions.TestExecutionException;
 import com.spring.befwlc.utils.TransformationUtils;
 import lombok.extern.slf4j.Slf4j;
@@ -21,7 +20,7 @@ public class EntryFinder {
         log.info("Entry found: {}", TransformationUtils.objectToPrettyString(entries));
     }
 
-    public static void logPartiallyMatchedEntries(final List<ObjectNode> entries, final List<PartiallyMatchedEntry> partiallyMatchedMessages, final boolean matchedFlag) {
+    public static void logPartiallyMatchedEntries(final Collection<ObjectNode> entries, final List<PartiallyMatchedEntry> partiallyMatchedMessages, final boolean matchedFlag) {
         if (partiallyMatchedMessages.isEmpty()) {
             log.error("No entry found by given filters");
         } else {
@@ -42,7 +41,7 @@ public class EntryFinder {
         }
     }
 
-    public static boolean entryFoundByFilters(final List<ObjectNode> entries, final EntryFilters entryFilters, final ScenarioContext scenarioContext) {
+    public static boolean entryFoundByFilters(final Collection<ObjectNode> entries, final EntryFilters entryFilters, final ScenarioContext scenarioContext) {
         final List<ObjectNode> entriesFound = EntryFinder.findEntryByFilters(entries, entryFilters, true);
 
         if (entriesFound.isEmpty()) {
@@ -56,7 +55,7 @@ public class EntryFinder {
         }
     }
 
-    public static boolean entryNotFoundByFilters(final List<ObjectNode> entries, final EntryFilters entryFilters) {
+    public static boolean entryNotFoundByFilters(final Collection<ObjectNode> entries, final EntryFilters entryFilters) {
         final List<ObjectNode> entriesFound = EntryFinder.findEntryByFilters(entries, entryFilters, true);
 
         if (!entriesFound.isEmpty()) {
@@ -66,20 +65,16 @@ public class EntryFinder {
         return false;
     }
 
-    public static List<ObjectNode> findEntryByFilters(final List<ObjectNode> entries, final EntryFilters entryFilters, final boolean removeMessages) {
-        final List<ObjectNode> toRemove = new ArrayList<>();
+    public static List<ObjectNode> findEntryByFilters(final Collection<ObjectNode> entries, final EntryFilters entryFilters, final boolean removeMessages) {
         final List<ObjectNode> results = new ArrayList<>();
 
         for (ObjectNode jsonNode : entries) {
-            if (filtersMatched(jsonNode, entryFilters)) {
-                if (removeMessages) {
-                    toRemove.add(jsonNode);
-                }
+            // Awaits run concurrently, so an entry counts as found only by the one that removes it
+            if (filtersMatched(jsonNode, entryFilters) && (!removeMessages || entries.remove(jsonNode))) {
                 results.add(jsonNode);
             }
         }
 
-        entries.removeAll(toRemove);
         return results;
     }
 
@@ -97,17 +92,26 @@ public class EntryFinder {
 
     private static boolean filtersMatched(final ObjectNode rootNode, final EntryFilters entryFilters) {
         final List<EntryFilter> initialFilters = entryFilters.getInitialFilters();
+
+        // Counting allocates nothing; the detailed result is only built for a partial match worth keeping
+        final int matchedCount = countMatchedFilters(rootNode, initialFilters);
+        if (matchedCount == initialFilters.size()) {
+            return true;
+        }
+        if (matchedCount == 0 || !entryFilters.wantsPartiallyMatchedMessage(rootNode, matchedCount)) {
+            return false;
+        }
+
         final List<EntryFilter> unmatchedFilters = new ArrayList<>();
         final List<EntryFilter> matchedFilters = new ArrayList<>();
 
         for (final EntryFilter initialFilter : initialFilters) {
             final String value = initialFilter.getValue();
             final String key = initialFilter.getKey();
-            final JsonNodeInstance currentNodeInstance = JsonNodeHelper.extractNodeInstanceByKey(rootNode, key);
-            final String currentNodeInstanceValue = currentNodeInstance.getNodeValue().asText();
-            final boolean isCurrentNodeFound = !currentNodeInstance.isNodeNotFound();
-            final boolean isNodeValueMatched = JsonNodeHelper.valuesMatches(value, currentNodeInstanceValue);
-            final boolean isMatched = isCurrentNodeFound && isNodeValueMatched;
+            final JsonNode currentNode = initialFilter.getPath().resolve(rootNode);
+            final boolean isCurrentNodeFound = !currentNode.isMissingNode();
+            final String currentNodeValue = currentNode.asText();
+            final boolean isMatched = isCurrentNodeFound && initialFilter.getValuePattern().matches(currentNodeValue);
 
             if (isMatched) {
                 matchedFilters.add(initialFilter);
@@ -118,17 +122,26 @@ public class EntryFinder {
                 if (!isCurrentNodeFound) {
                     unmatchedDetails.put("Actual", String.format("Node '%s' not found", key));
                 } else {
-                    unmatchedDetails.put("Actual", currentNodeInstanceValue);
+                    unmatchedDetails.put("Actual", currentNodeValue);
                 }
 
-                final EntryFilter unmatchedFilter = new EntryFilter(key, value);
-                unmatchedFilter.setId(initialFilter.getId());
-                unmatchedFilter.setUnmatchedDetails(unmatchedDetails);
-                unmatchedFilters.add(unmatchedFilter);
+                unmatchedFilters.add(new EntryFilter(initialFilter, unmatchedDetails));
             }
         }
 
         entryFilters.addPartiallyMatchedMessage(matchedFilters, unmatchedFilters, rootNode);
         return unmatchedFilters.isEmpty();
     }
-}
\ No newline at end of file
+
+    private static int countMatchedFilters(final ObjectNode rootNode, final List<EntryFilter> filters) {
+        int matchedCount = 0;
+        for (int i = 0; i < filters.size(); i++) {
+            final EntryFilter filter = filters.get(i);
+            final JsonNode currentNode = filter.getPath().resolve(rootNode);
+            if (!currentNode.isMissingNode() && filter.getValuePattern().matches(currentNode.asText())) {
+                matchedCount++;
+            }
+        }
+        return matchedCount;
+    }
+}
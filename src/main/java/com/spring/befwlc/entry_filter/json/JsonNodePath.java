@@ -0,0 +1,85 @@
+package com.spring.befwlc.entry_filter.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.spring.befwlc.utils.RegexUtils;
+
+import static com.spring.befwlc.utils.RegexUtils.JSON_IS_ARRAY_ACCESS_REGEX;
+
+public class JsonNodePath {
+
+    private static final int NO_ARRAY_INDEX = -1;
+
+    private final String key;
+    private final String[] segmentKeys;
+    private final int[] arrayIndexes;
+
+    private JsonNodePath(final String key, final String[] segmentKeys, final int[] arrayIndexes) {
+        this.key = key;
+        this.segmentKeys = segmentKeys;
+        this.arrayIndexes = arrayIndexes;
+    }
+
+    public static JsonNodePath compile(final String key) {
+        final String[] keys = key.split("\\.");
+        final String[] segmentKeys = new String[keys.length];
+        final int[] arrayIndexes = new int[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            final String trimmedKeyValue = keys[i].trim();
+            if (RegexUtils.matches(trimmedKeyValue, JSON_IS_ARRAY_ACCESS_REGEX)) {
+                segmentKeys[i] = trimmedKeyValue.substring(0, trimmedKeyValue.indexOf('['));
+                arrayIndexes[i] = Integer.parseInt(trimmedKeyValue.substring(trimmedKeyValue.lastIndexOf('[') + 1, trimmedKeyValue.length() - 1));
+            } else {
+                segmentKeys[i] = trimmedKeyValue;
+                arrayIndexes[i] = NO_ARRAY_INDEX;
+            }
+        }
+        return new JsonNodePath(key, segmentKeys, arrayIndexes);
+    }
+
+    public JsonNode resolve(final JsonNode rootNode) {
+        JsonNode currentNode = rootNode;
+
+        for (int i = 0; i < segmentKeys.length; i++) {
+            final JsonNode childNode = currentNode.get(segmentKeys[i]);
+            if (arrayIndexes[i] != NO_ARRAY_INDEX) {
+                final JsonNode arrayNode = childNode != null ? childNode : currentNode;
+                currentNode = arrayNode.path(arrayIndexes[i]);
+                if (currentNode.isMissingNode()) {
+                    return currentNode;
+                }
+            } else {
+                if (childNode == null) {
+                    return MissingNode.getInstance();
+                }
+                currentNode = childNode;
+            }
+        }
+        return currentNode;
+    }
+
+    public JsonNodeInstance extractNodeInstance(final JsonNode rootNode) {
+        final JsonNodeInstance currentNode = new JsonNodeInstance(rootNode, false);
+
+        for (int i = 0; i < segmentKeys.length; i++) {
+            final JsonNode childNode = currentNode.getNodeValue().get(segmentKeys[i]);
+            final JsonNode nextNode;
+            if (arrayIndexes[i] != NO_ARRAY_INDEX) {
+                nextNode = (childNode != null ? childNode : currentNode.getNodeValue()).path(arrayIndexes[i]);
+            } else {
+                nextNode = childNode != null ? childNode : MissingNode.getInstance();
+            }
+            if (nextNode.isMissingNode()) {
+                currentNode.setNodeNotFound(true);
+                break;
+            }
+            currentNode.setNodeValue(nextNode);
+        }
+        return currentNode;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
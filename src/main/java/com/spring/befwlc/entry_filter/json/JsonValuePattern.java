@@ -0,0 +1,45 @@
+package com.spring.befwlc.entry_filter.json;
+
+import java.util.Objects;
+
+public class JsonValuePattern {
+
+    private static final String CONTAINS_WILDCARD = "%";
+
+    private enum MatchType { EQUALS, STARTS_WITH, ENDS_WITH, CONTAINS }
+
+    private final MatchType matchType;
+    private final String value;
+
+    private JsonValuePattern(final MatchType matchType, final String value) {
+        this.matchType = matchType;
+        this.value = value;
+    }
+
+    public static JsonValuePattern compile(final String filterValue) {
+        if (filterValue == null) {
+            return new JsonValuePattern(MatchType.EQUALS, null);
+        }
+
+        final boolean startsWithWildcard = filterValue.startsWith(CONTAINS_WILDCARD);
+        final boolean endsWithWildcard = filterValue.endsWith(CONTAINS_WILDCARD);
+
+        if (!startsWithWildcard && endsWithWildcard) {
+            return new JsonValuePattern(MatchType.STARTS_WITH, filterValue.substring(0, filterValue.length() - 1));
+        } else if (startsWithWildcard && !endsWithWildcard) {
+            return new JsonValuePattern(MatchType.ENDS_WITH, filterValue.substring(1));
+        } else if (startsWithWildcard) {
+            return new JsonValuePattern(MatchType.CONTAINS, filterValue.replace(CONTAINS_WILDCARD, ""));
+        }
+        return new JsonValuePattern(MatchType.EQUALS, filterValue);
+    }
+
+    public boolean matches(final String nodeValue) {
+        return switch (matchType) {
+            case STARTS_WITH -> nodeValue.startsWith(value);
+            case ENDS_WITH -> nodeValue.endsWith(value);
+            case CONTAINS -> nodeValue.contains(value);
+            case EQUALS -> Objects.equals(value, nodeValue);
+        };
+    }
+}
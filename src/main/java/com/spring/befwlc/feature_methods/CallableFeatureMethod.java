@@ -8,6 +8,7 @@ import com.spring.befwlc.entry_filter.json.JsonNodeHelper;
 import com.spring.befwlc.exceptions.TestExecutionException;
 import com.spring.befwlc.payload.PayloadValue;
 import com.spring.befwlc.utils.DateUtils;
+import com.spring.befwlc.utils.RegexUtils;
 
 
 import java.nio.charset.StandardCharsets;
@@ -41,7 +42,7 @@ public enum CallableFeatureMethod implements CallableMethod {
         public String execute(final List<String> args, final ScenarioContext scenarioContext) {
             assertArgsCountEquals(args, 2);
             final String input = args.get(1);
-            return input.replaceAll(args.get(0), "");
+            return RegexUtils.replaceAll(input, args.get(0), "");
         }
     },
 
@@ -51,7 +52,7 @@ public enum CallableFeatureMethod implements CallableMethod {
             final String charToRemove = args.get(0);
             final String replacement = args.get(1);
             final String input = args.get(2);
-            return input.replaceAll(charToRemove, replacement);
+            return RegexUtils.replaceAll(input, charToRemove, replacement);
         }
     },
 
@@ -4,32 +4,63 @@ import com.spring.befwlc.configuration.AwaitConfiguration;
 import com.spring.befwlc.exceptions.MaximumIterationExceededException;
 import com.spring.befwlc.exceptions.TestExecutionException;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Waits for a condition without holding a lock, so any number of awaits can run at once. A
+ * waiter re-evaluates its condition as soon as {@link #signal()} reports new data, or after
+ * {@code interval} seconds for conditions nothing signals. Signals are coalesced: any number of
+ * them during one evaluation cause a single re-evaluation, so a condition that only looks at what
+ * arrived since its previous evaluation costs the burst, not the backlog. The overall budget stays
+ * {@code interval * iterations} seconds.
+ */
 public class AwaitHandler {
 
-    private final Lock lock = new ReentrantLock();
-    private final Condition condition = lock.newCondition();
+    private final AtomicLong generation = new AtomicLong();
+    private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+
+    /** Wakes every waiting await so it re-evaluates its condition. */
+    public void signal() {
+        generation.incrementAndGet();
+        for (final Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     public void awaitTrue(final ConditionMatcher conditionMatcher, final AwaitConfiguration awaitConfiguration) throws TestExecutionException {
-        int iterations = 0;
-        lock.lock();
-        try {
-            while (!conditionMatcher.isMatch()) {
-                if (iterations >= awaitConfiguration.getIterations()) {
-                    throw new MaximumIterationExceededException("Condition not met after maximum iterations");
+        final long intervalNanos = TimeUnit.SECONDS.toNanos(awaitConfiguration.getInterval());
+        final long deadline = System.nanoTime() + intervalNanos * awaitConfiguration.getIterations();
+        final Thread current = Thread.currentThread();
+
+        while (true) {
+            // Read before evaluating, so data arriving during the evaluation still wakes the wait below
+            final long seen = generation.get();
+            if (conditionMatcher.isMatch()) {
+                return;
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new MaximumIterationExceededException("Condition not met after maximum iterations");
+            }
+
+            final long wakeAt = System.nanoTime() + Math.min(remaining, intervalNanos);
+            waiters.add(current);
+            try {
+                long parkFor;
+                while (generation.get() == seen && (parkFor = wakeAt - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(this, parkFor);
+                    if (Thread.interrupted()) {
+                        current.interrupt();
+                        throw new TestExecutionException("Await handler process failed: interrupted while waiting for condition");
+                    }
                 }
-                condition.await(awaitConfiguration.getInterval(), TimeUnit.SECONDS);
-                iterations++;
+            } finally {
+                waiters.remove(current);
             }
-        } catch (final InterruptedException e) {
-            throw new TestExecutionException("Await handler process failed:\n", e.getMessage());
-        } finally {
-            lock.unlock();
         }
     }
 }
@@ -37,6 +37,6 @@ public class PayloadHelper {
     }
 
     public static boolean valueMatchesPattern(final String value, final String pattern) {
-        return value.matches(pattern);
+        return RegexUtils.matches(value, pattern);
     }
 }
@@ -0,0 +1,186 @@
+package com.spring.befwlc.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.spring.befwlc.exceptions.TestExecutionException;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.Decoder;
+import org.apache.avro.io.DecoderFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes Confluent-framed Avro payloads straight into Jackson trees, without building a
+ * {@code GenericRecord} and re-parsing its {@code toString()}. The tree is the same one
+ * {@code readTree(record.toString())} produced, so filter paths and values are unchanged.
+ * The reader for each writer schema is built once and cached by schema id.
+ */
+@Slf4j
+public class AvroJsonDecoder {
+    private static final byte MAGIC_BYTE = 0x0;
+    private static final int PREFIX_LENGTH = 5;
+
+    private final SchemaRegistryClient schemaRegistryClient;
+    private final JsonNodeFactory nodes;
+    private final Map<Integer, NodeReader> readers = new ConcurrentHashMap<>();
+
+    public AvroJsonDecoder(final SchemaRegistryClient schemaRegistryClient, final ObjectMapper objectMapper) {
+        this.schemaRegistryClient = schemaRegistryClient;
+        this.nodes = objectMapper.getNodeFactory();
+    }
+
+    public JsonNode decode(final byte[] payload) throws IOException {
+        if (payload == null || payload.length < PREFIX_LENGTH || payload[0] != MAGIC_BYTE) {
+            throw new TestExecutionException("Payload is not in Confluent Avro wire format");
+        }
+        int schemaId = ByteBuffer.wrap(payload, 1, 4).getInt();
+        BinaryDecoder in = DecoderFactory.get().binaryDecoder(payload, PREFIX_LENGTH, payload.length - PREFIX_LENGTH, null);
+        return readerFor(schemaId).read(in);
+    }
+
+    private NodeReader readerFor(final int schemaId) throws IOException {
+        NodeReader reader = readers.get(schemaId);
+        if (reader != null) return reader;
+
+        Schema schema = fetchSchema(schemaId);
+        reader = compile(schema, new HashMap<>());
+        log.debug("Compiled Avro reader for schema {} (id={})", schema.getFullName(), schemaId);
+        NodeReader existing = readers.putIfAbsent(schemaId, reader);
+        return existing != null ? existing : reader;
+    }
+
+    private Schema fetchSchema(final int schemaId) throws IOException {
+        try {
+            ParsedSchema parsed = schemaRegistryClient.getSchemaById(schemaId);
+            if (!(parsed instanceof AvroSchema avroSchema)) {
+                throw new TestExecutionException("Schema id %d is not an Avro schema", schemaId);
+            }
+            return avroSchema.rawSchema();
+        } catch (RestClientException e) {
+            throw new TestExecutionException("Failed to fetch schema id %d: %s", schemaId, e.getMessage());
+        }
+    }
+
+    private NodeReader compile(final Schema schema, final Map<String, RecordReader> records) {
+        return switch (schema.getType()) {
+            case RECORD -> compileRecord(schema, records);
+            case UNION -> {
+                List<Schema> types = schema.getTypes();
+                NodeReader[] branches = new NodeReader[types.size()];
+                for (int i = 0; i < branches.length; i++) branches[i] = compile(types.get(i), records);
+                yield in -> branches[in.readIndex()].read(in);
+            }
+            case ARRAY -> {
+                NodeReader items = compile(schema.getElementType(), records);
+                yield in -> {
+                    ArrayNode array = nodes.arrayNode();
+                    for (long n = in.readArrayStart(); n != 0; n = in.arrayNext()) {
+                        for (long i = 0; i < n; i++) array.add(items.read(in));
+                    }
+                    return array;
+                };
+            }
+            case MAP -> {
+                NodeReader values = compile(schema.getValueType(), records);
+                yield in -> {
+                    ObjectNode map = nodes.objectNode();
+                    for (long n = in.readMapStart(); n != 0; n = in.mapNext()) {
+                        for (long i = 0; i < n; i++) map.set(in.readString(), values.read(in));
+                    }
+                    return map;
+                };
+            }
+            case ENUM -> {
+                List<String> symbols = schema.getEnumSymbols();
+                yield in -> nodes.textNode(symbols.get(in.readEnum()));
+            }
+            case FIXED -> {
+                int size = schema.getFixedSize();
+                yield in -> {
+                    byte[] bytes = new byte[size];
+                    in.readFixed(bytes);
+                    ArrayNode array = nodes.arrayNode(size);
+                    for (byte b : bytes) array.add((int) b);
+                    return array;
+                };
+            }
+            case STRING -> in -> nodes.textNode(in.readString());
+            case BYTES -> in -> {
+                ByteBuffer bytes = in.readBytes(null);
+                return nodes.textNode(new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), StandardCharsets.ISO_8859_1));
+            };
+            case INT -> in -> nodes.numberNode(in.readInt());
+            case LONG -> in -> {
+                long value = in.readLong();
+                return value == (int) value ? nodes.numberNode((int) value) : nodes.numberNode(value);
+            };
+            case FLOAT -> in -> {
+                float value = in.readFloat();
+                return Float.isFinite(value) ? nodes.numberNode(Double.parseDouble(Float.toString(value))) : nodes.textNode(Float.toString(value));
+            };
+            case DOUBLE -> in -> {
+                double value = in.readDouble();
+                return Double.isFinite(value) ? nodes.numberNode(value) : nodes.textNode(Double.toString(value));
+            };
+            case BOOLEAN -> in -> nodes.booleanNode(in.readBoolean());
+            case NULL -> in -> {
+                in.readNull();
+                return nodes.nullNode();
+            };
+        };
+    }
+
+    private NodeReader compileRecord(final Schema schema, final Map<String, RecordReader> records) {
+        RecordReader existing = records.get(schema.getFullName());
+        if (existing != null) return existing;
+
+        List<Schema.Field> fields = schema.getFields();
+        RecordReader reader = new RecordReader(fields.size());
+        records.put(schema.getFullName(), reader);
+        for (int i = 0; i < fields.size(); i++) {
+            reader.names[i] = fields.get(i).name();
+            reader.fields[i] = compile(fields.get(i).schema(), records);
+        }
+        return reader;
+    }
+
+    @FunctionalInterface
+    private interface NodeReader {
+        JsonNode read(Decoder in) throws IOException;
+    }
+
+    private final class RecordReader implements NodeReader {
+        private final String[] names;
+        private final NodeReader[] fields;
+        private final int capacity;
+
+        private RecordReader(int fieldCount) {
+            this.names = new String[fieldCount];
+            this.fields = new NodeReader[fieldCount];
+            this.capacity = (int) (fieldCount / 0.75f) + 1;
+        }
+
+        @Override
+        public JsonNode read(Decoder in) throws IOException {
+            ObjectNode record = new ObjectNode(nodes, new LinkedHashMap<>(capacity));
+            for (int i = 0; i < fields.length; i++) record.set(names[i], fields[i].read(in));
+            return record;
+        }
+    }
+}
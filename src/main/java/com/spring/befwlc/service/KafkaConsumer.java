@@ -8,16 +8,18 @@ import com.spring.befwlc.entry_filter.EntryFilters;
 import com.spring.befwlc.entry_filter.EntryFinder;
 import com.spring.befwlc.exceptions.TestExecutionException;
 import com.spring.befwlc.handlers.AwaitHandler;
-import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import com.spring.befwlc.utils.JsonSizeUtils;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.nio.charset.StandardCharsets;
-import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static com.spring.befwlc.service.KafkaConstants.*;
 
@@ -26,28 +28,52 @@ public abstract class KafkaConsumer {
 
     @Autowired
     protected ObjectMapper mapper;
-    protected final List<ObjectNode> records = new CopyOnWriteArrayList<>();
+    protected final RecordLog records = new RecordLog();
     private final AwaitHandler awaitHandler = new AwaitHandler();
     private final String[] messageUniqueKeys;
     private final String topicName;
 
     @Autowired(required = false)
-    protected KafkaAvroDeserializer kafkaAvroDeserializer;
+    protected AvroJsonDecoder avroJsonDecoder;
 
     @Autowired
     private ScenarioContext scenarioContext;
 
+    @Autowired
+    private KafkaRecordDispatcher recordDispatcher;
+
     @Autowired(required = false)
     @Qualifier("kafkaAwaitHandlerConfiguration")
     private AwaitConfiguration awaitConfiguration;
 
+    @Value("${spring.kafka.consumer.store-max-records:0}")
+    private int maxRecords;
+
+    @Value("${spring.kafka.consumer.store-max-age-seconds:0}")
+    private long maxAgeSeconds;
+
+    @Value("${spring.kafka.consumer.store-max-bytes:0}")
+    private long maxBytes;
+
+    private final AtomicLong evictedByCount = new AtomicLong();
+    private final AtomicLong evictedByAge = new AtomicLong();
+    private final AtomicLong evictedByBytes = new AtomicLong();
+    private final AtomicInteger highWaterRecords = new AtomicInteger();
+    private final AtomicLong highWaterBytes = new AtomicLong();
+
     protected KafkaConsumer(String topicName, String... messageUniqueKeys) {
         this.topicName = topicName;
         this.messageUniqueKeys = messageUniqueKeys;
     }
 
+    /** Called for every record on the consumer's topic by the shared {@link KafkaRecordDispatcher}. */
     public abstract void receiveRecord(final ConsumerRecord<byte[], byte[]> record);
 
+    @PostConstruct
+    private void subscribe() {
+        recordDispatcher.subscribe(topicName, this::receiveRecord);
+    }
+
     public void assertKafkaMessageIsPosted(final EntryFilters entryFilters){
         checkKafkaConfiguration();
 
@@ -55,9 +81,17 @@ public abstract class KafkaConsumer {
 
         log.info("Assert message is posted on Kafka '{}' topic. Filters: {}", topicName, entryFilters.toString());
 
+        final long evictionsBefore = getEvictions();
+        // Each wake-up evaluates only the records that arrived since the previous one
+        final RecordLog.Cursor cursor = records.cursor();
         try{
-            awaitHandler.awaitTrue(() -> EntryFinder.entryFoundByFilters(records, entryFilters, scenarioContext), awaitConfiguration);
+            awaitHandler.awaitTrue(() -> EntryFinder.entryFoundByFilters(cursor.unscanned(), entryFilters, scenarioContext), awaitConfiguration);
         } catch (Exception e) {
+            final long evictions = getEvictions();
+            if (evictions > 0) {
+                log.warn("{} record(s) were evicted from the '{}' topic store, {} of them during this assertion; the expected message may have been one of them",
+                        evictions, topicName, evictions - evictionsBefore);
+            }
             EntryFinder.logPartiallyMatchedEntries(records, entryFilters.getPartiallyMatchedEntriesWithMatchedKeys(messageUniqueKeys), true);
             throw new TestExecutionException("No Kafka entry found by given filters");
         }
@@ -67,8 +101,9 @@ public abstract class KafkaConsumer {
         entryFilters.addFilter(TOPIC, topicName);
         log.info("Assert message is not posted on Kafka '{}' topic. Filters: {}", topicName, entryFilters.toString());
 
+        final RecordLog.Cursor cursor = records.cursor();
         try {
-            awaitHandler.awaitTrue(() -> EntryFinder.entryNotFoundByFilters(records, entryFilters), awaitConfiguration);
+            awaitHandler.awaitTrue(() -> EntryFinder.entryNotFoundByFilters(cursor.unscanned(), entryFilters), awaitConfiguration);
         } catch (Exception e){
             log.info("No Kafka entry fully matched the given filters");
         }
@@ -88,18 +123,82 @@ public abstract class KafkaConsumer {
         decodedMessage.set(HEADERS, headers);
     }
 
-    protected synchronized void addRecord(ObjectNode message){
-        records.add(message);
+    public long getEvictions() {
+        return getEvictedByCount() + getEvictedByAge() + getEvictedByBytes();
+    }
+
+    public long getEvictedByCount() {
+        return evictedByCount.get();
+    }
+
+    public long getEvictedByAge() {
+        return evictedByAge.get();
+    }
+
+    public long getEvictedByBytes() {
+        return evictedByBytes.get();
     }
 
-    protected synchronized void saveRecord(final ConsumerRecord<byte[], byte[]> record){
+    public int getHighWaterRecords() {
+        return highWaterRecords.get();
+    }
+
+    public long getHighWaterBytes() {
+        return highWaterBytes.get();
+    }
+
+    public long getRetainedBytes() {
+        return records.getRetainedBytes();
+    }
+
+    /** Safe to call from any number of listener threads at once; nothing here takes a lock. */
+    protected void addRecord(ObjectNode message){
+        records.append(message, JsonSizeUtils.estimateRetainedBytes(message));
+        if (maxRecords > 0 || maxAgeSeconds > 0 || maxBytes > 0) {
+            evictOldestRecords();
+        }
+        highWaterRecords.accumulateAndGet(records.size(), Math::max);
+        highWaterBytes.accumulateAndGet(records.getRetainedBytes(), Math::max);
+        awaitHandler.signal();
+    }
+
+    /**
+     * Drops records from the oldest end while a cap is exceeded, keeping at least the newest one.
+     * Age is checked against the record {@code Timestamp} at the head only. Concurrent ingest may
+     * briefly overshoot a cap; an eviction only counts for the thread that removed the record.
+     */
+    private void evictOldestRecords() {
+        final long cutoff = maxAgeSeconds > 0 ? System.currentTimeMillis() - maxAgeSeconds * 1000 : Long.MIN_VALUE;
+        while (records.size() > 1) {
+            final ObjectNode oldest = records.oldest();
+            if (oldest == null) {
+                break;
+            }
+            final AtomicLong reason;
+            if (maxRecords > 0 && records.size() > maxRecords) {
+                reason = evictedByCount;
+            } else if (maxBytes > 0 && records.getRetainedBytes() > maxBytes) {
+                reason = evictedByBytes;
+            } else if (oldest.path(TIMESTAMP).asLong(Long.MAX_VALUE) < cutoff) {
+                reason = evictedByAge;
+            } else {
+                break;
+            }
+            if (records.remove(oldest)) {
+                reason.incrementAndGet();
+            }
+        }
+    }
+
+    protected void saveRecord(final ConsumerRecord<byte[], byte[]> record){
+        checkKafkaConfiguration();
         try{
             final ObjectNode decodedMessage = mapper.createObjectNode();
             decodedMessage.put(TOPIC, record.topic());
             decodedMessage.put(PARTITION, record.partition());
             decodedMessage.put(OFFSET, record.offset());
             decodedMessage.put(TIMESTAMP, record.timestamp());
-            decodedMessage.put(MESSAGE, mapper.readTree(kafkaAvroDeserializer.deserialize(record.topic(), record.value()).toString()));
+            decodedMessage.set(MESSAGE, avroJsonDecoder.decode(record.value()));
             addHeadersToRecord(decodedMessage, record);
             addRecord(decodedMessage);
         } catch (final Exception e){
@@ -110,7 +209,7 @@ public abstract class KafkaConsumer {
     }
 
     private void checkKafkaConfiguration() {
-        if (awaitConfiguration == null && kafkaAvroDeserializer == null) {
+        if (awaitConfiguration == null || avroJsonDecoder == null) {
             throw new TestExecutionException("Kafka configuration is not enabled. Use 'P' or 'S' to enable Kafka configuration.");
         }
     }
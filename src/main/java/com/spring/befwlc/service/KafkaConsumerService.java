@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.listener.KafkaMessageListenerContainer;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Service;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -20,12 +22,16 @@ import java.util.concurrent.TimeUnit;
 public class KafkaConsumerService {
     private final ConsumerFactory<byte[], byte[]> consumerFactory;
     private final ObjectMapper objectMapper;
+    private final KafkaRecordDispatcher recordDispatcher;
 
+    /**
+     * Waits for a record on the topic matching the expected values. Topics the shared consumer
+     * subscribes to are watched through it without joining the group again; any other topic
+     * gets a container of its own for the duration of the call.
+     */
     public boolean consumeAndVerifyMessage(String topic, Map<String, String> expectedValues, long timeoutSeconds){
         CountDownLatch latch = new CountDownLatch(1);
-
-        ContainerProperties containerProps = new ContainerProperties(topic);
-        containerProps.setMessageListener((MessageListener<byte[], byte[]>) record -> {
+        Consumer<ConsumerRecord<byte[], byte[]>> listener = record -> {
             try {
                 String jsonMessage = new String(record.value());
                 log.debug("Received message from topic {}: {}", topic, jsonMessage);
@@ -37,12 +43,28 @@ public class KafkaConsumerService {
             } catch (Exception e){
                 log.error("Error processing message: {}", e.getMessage());
             }
-        });
+        };
 
+        if (recordDispatcher.isSubscribedTo(topic)) {
+            try (KafkaRecordDispatcher.Subscription ignored = recordDispatcher.subscribe(topic, listener)) {
+                return awaitMatch(latch, topic, timeoutSeconds);
+            }
+        }
+
+        log.warn("Topic {} is not in test.kafka.consumer-topics, starting a dedicated consumer for it", topic);
+        ContainerProperties containerProps = new ContainerProperties(topic);
+        containerProps.setMessageListener((MessageListener<byte[], byte[]>) listener::accept);
         KafkaMessageListenerContainer<byte[], byte[]> container =
                 new KafkaMessageListenerContainer<>(consumerFactory, containerProps);
         container.start();
+        try {
+            return awaitMatch(latch, topic, timeoutSeconds);
+        } finally {
+            container.stop();
+        }
+    }
 
+    private boolean awaitMatch(CountDownLatch latch, String topic, long timeoutSeconds) {
         try{
             boolean found = latch.await(timeoutSeconds, TimeUnit.SECONDS);
             if(!found){
@@ -52,8 +74,6 @@ public class KafkaConsumerService {
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             return false;
-        } finally {
-            container.stop();
         }
     }
 
@@ -0,0 +1,72 @@
+package com.spring.befwlc.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.spring.befwlc.service.KafkaConstants.TEST_CONSUME_KAFKA_TOPIC;
+
+/**
+ * The one Kafka listener of the framework: a single container in a single consumer group,
+ * subscribed to every topic in {@code test.kafka.consumer-topics}. Each record is handed to the
+ * in-memory subscribers of its topic, so topic stores and one-off verifications attach and detach
+ * without starting a container or joining the group. Subscribers run on the listener thread;
+ * one that throws is logged and does not keep the record from the others.
+ */
+@Slf4j
+@Component
+public class KafkaRecordDispatcher {
+
+    public static final String LISTENER_ID = "befwlc-shared-consumer";
+    private static final String TOPICS = "${test.kafka.consumer-topics:" + TEST_CONSUME_KAFKA_TOPIC + "}";
+
+    private final Set<String> topics;
+    private final Map<String, List<Consumer<ConsumerRecord<byte[], byte[]>>>> subscribers = new ConcurrentHashMap<>();
+
+    public KafkaRecordDispatcher(@Value(TOPICS) final String[] topics) {
+        this.topics = Arrays.stream(topics).map(String::trim).collect(Collectors.toUnmodifiableSet());
+        log.info("Shared Kafka consumer subscribing to topics {}", this.topics);
+    }
+
+    public boolean isSubscribedTo(final String topic) {
+        return topics.contains(topic);
+    }
+
+    /** Starts handing the topic's records to the subscriber; closing the subscription stops it. */
+    public Subscription subscribe(final String topic, final Consumer<ConsumerRecord<byte[], byte[]>> subscriber) {
+        if (!isSubscribedTo(topic)) {
+            log.warn("Topic '{}' is not in test.kafka.consumer-topics {}; its subscriber will receive nothing", topic, topics);
+        }
+        subscribers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(subscriber);
+        return () -> subscribers.getOrDefault(topic, List.of()).remove(subscriber);
+    }
+
+    // The listener id only names the container; the group is the consumer factory's group.id
+    @KafkaListener(id = LISTENER_ID, idIsGroup = false, topics = "#{'" + TOPICS + "'.trim().split('\\s*,\\s*')}")
+    public void dispatch(final ConsumerRecord<byte[], byte[]> record) {
+        for (final Consumer<ConsumerRecord<byte[], byte[]>> subscriber : subscribers.getOrDefault(record.topic(), List.of())) {
+            try {
+                subscriber.accept(record);
+            } catch (final Exception e) {
+                log.error("Subscriber of topic '{}' failed on the record at offset {}", record.topic(), record.offset(), e);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Subscription extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
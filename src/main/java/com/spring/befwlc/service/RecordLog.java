@@ -0,0 +1,390 @@
+package com.spring.befwlc.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.spring.befwlc.service.KafkaConstants.OFFSET;
+import static com.spring.befwlc.service.KafkaConstants.PARTITION;
+import static com.spring.befwlc.service.KafkaConstants.TOPIC;
+
+/**
+ * Append-only log of consumed records that any number of listener threads can write without a
+ * lock. Each append reserves the next index and publishes the record into its slot with a
+ * volatile write; slots live in fixed-size chunks, so an append never copies earlier records.
+ * Iteration runs oldest first, is weakly consistent and skips slots still being written.
+ * Membership is by identity.
+ *
+ * <p>Every record with Kafka coordinates gets a handle keyed by topic, partition and offset, so
+ * removing it is a lookup and a swap of its slot for a tombstone; only the caller whose swap
+ * succeeds gets {@code true}. Records without coordinates, or sharing them with a later one,
+ * are removed by scanning from the oldest end. Tombstones are compacted a chunk at a time: the
+ * removed prefix is dropped, and scans unlink chunks whose records are all removed.
+ *
+ * <p>A {@link Cursor} gives an await only the records appended since its previous scan, so each
+ * wake-up costs the new arrivals rather than the whole log.
+ */
+class RecordLog extends AbstractCollection<ObjectNode> {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final ObjectNode REMOVED = JsonNodeFactory.instance.objectNode();
+
+    private static final class Chunk {
+        private final long base;
+        private final AtomicReferenceArray<ObjectNode> slots = new AtomicReferenceArray<>(CHUNK_SIZE);
+        // Written before the slot is published, so whoever sees the record also sees its size
+        private final long[] sizes = new long[CHUNK_SIZE];
+        private final AtomicInteger removed = new AtomicInteger();
+        private final AtomicReference<Chunk> next = new AtomicReference<>();
+
+        private Chunk(final long base) {
+            this.base = base;
+        }
+
+        private boolean isDead() {
+            return removed.get() == CHUNK_SIZE;
+        }
+    }
+
+    private static final class Handle {
+        private final Chunk chunk;
+        private final int slot;
+
+        private Handle(final Chunk chunk, final int slot) {
+            this.chunk = chunk;
+            this.slot = slot;
+        }
+    }
+
+    private final AtomicLong reserved = new AtomicLong();
+    // Lower bound of the oldest live index; everything before it is removed
+    private final AtomicLong start = new AtomicLong();
+    private final AtomicReference<Chunk> head;
+    private final AtomicReference<Chunk> tail;
+    private final Map<String, Handle> handles = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    RecordLog() {
+        final Chunk first = new Chunk(0);
+        this.head = new AtomicReference<>(first);
+        this.tail = new AtomicReference<>(first);
+    }
+
+    /** Appends the record with its estimated retained size. */
+    void append(final ObjectNode record, final long retainedSize) {
+        // Read the tail first: it never moves past an index that has not been reserved yet
+        Chunk chunk = tail.get();
+        final long index = reserved.getAndIncrement();
+        while (index >= chunk.base + CHUNK_SIZE) {
+            Chunk next = chunk.next.get();
+            if (next == null) {
+                chunk.next.compareAndSet(null, new Chunk(chunk.base + CHUNK_SIZE));
+                next = chunk.next.get();
+            }
+            chunk = next;
+        }
+        advance(tail, chunk);
+
+        final int slot = (int) (index - chunk.base);
+        chunk.sizes[slot] = retainedSize;
+        retainedBytes.addAndGet(retainedSize);
+        size.incrementAndGet();
+        final String key = handleKey(record);
+        if (key != null) {
+            handles.put(key, new Handle(chunk, slot));
+        }
+        chunk.slots.set(slot, record);
+    }
+
+    /**
+     * The oldest record still held, or {@code null} when there is none or it is still being written.
+     * Moves the start of the log past removed records on the way.
+     */
+    ObjectNode oldest() {
+        Chunk chunk = head.get();
+        final long end = reserved.get();
+        long index = Math.max(start.get(), chunk.base);
+        while (index < end) {
+            if (index >= chunk.base + CHUNK_SIZE) {
+                final Chunk next = chunk.next.get();
+                if (next == null) {
+                    return null;
+                }
+                chunk = next;
+                // Chunks unlinked in between held only removed records
+                index = Math.max(index, chunk.base);
+                advance(head, chunk);
+                continue;
+            }
+            final ObjectNode record = chunk.slots.get((int) (index - chunk.base));
+            if (record != REMOVED) {
+                return record;
+            }
+            index++;
+            start.accumulateAndGet(index, Math::max);
+        }
+        return null;
+    }
+
+    long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        final Handle handle = o instanceof ObjectNode ? lookup((ObjectNode) o) : null;
+        if (handle != null && handle.chunk.slots.get(handle.slot) == o) {
+            return true;
+        }
+        for (final ObjectNode record : this) {
+            if (record == o) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (!(o instanceof ObjectNode)) {
+            return false;
+        }
+        final Handle handle = lookup((ObjectNode) o);
+        if (handle != null && handle.chunk.slots.get(handle.slot) == o) {
+            return tryRemove(handle.chunk, handle.slot, (ObjectNode) o);
+        }
+        // No handle, or it belongs to a later record with the same coordinates
+        final Itr iterator = new Itr();
+        while (iterator.hasNext()) {
+            if (iterator.next() == o) {
+                return iterator.tryRemove();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<ObjectNode> iterator() {
+        return new Itr();
+    }
+
+    /** A cursor at the oldest record, for an await that has not scanned anything yet. */
+    Cursor cursor() {
+        return new Cursor(head.get(), start.get());
+    }
+
+    /**
+     * Position of one await in the log. Not thread-safe: it belongs to the thread running the await.
+     * Slots still being written when a scan passes them are scanned again the next time, so a
+     * record never slips past the cursor.
+     */
+    final class Cursor {
+        private Chunk chunk;
+        private long position;
+
+        private Cursor(final Chunk chunk, final long position) {
+            this.chunk = chunk;
+            this.position = position;
+        }
+
+        /**
+         * The records appended since the previous scan that are still held. Iterating it to the
+         * end moves the cursor past them; removing through it removes from the log.
+         */
+        Collection<ObjectNode> unscanned() {
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<ObjectNode> iterator() {
+                    return from(Cursor.this);
+                }
+
+                @Override
+                public int size() {
+                    int count = 0;
+                    for (final Iterator<ObjectNode> it = from(null); it.hasNext(); it.next()) {
+                        count++;
+                    }
+                    return count;
+                }
+
+                @Override
+                public boolean remove(final Object o) {
+                    return RecordLog.this.remove(o);
+                }
+            };
+        }
+
+        private Itr from(final Cursor owner) {
+            // The cursor's chunk may since have been dropped with the removed prefix
+            final Chunk oldest = head.get();
+            final Chunk from = oldest.base > chunk.base ? oldest : chunk;
+            return new Itr(from, Math.max(position, start.get()), owner);
+        }
+
+        private void moveTo(final Chunk chunk, final long position) {
+            this.chunk = chunk;
+            this.position = position;
+        }
+    }
+
+    private Handle lookup(final ObjectNode record) {
+        final String key = handleKey(record);
+        return key != null ? handles.get(key) : null;
+    }
+
+    private boolean tryRemove(final Chunk chunk, final int slot, final ObjectNode record) {
+        if (!chunk.slots.compareAndSet(slot, record, REMOVED)) {
+            return false;
+        }
+        size.decrementAndGet();
+        retainedBytes.addAndGet(-chunk.sizes[slot]);
+        chunk.removed.incrementAndGet();
+        final String key = handleKey(record);
+        if (key != null) {
+            handles.computeIfPresent(key, (k, handle) -> handle.chunk == chunk && handle.slot == slot ? null : handle);
+        }
+        if (chunk.base + slot <= start.get()) {
+            oldest();
+        }
+        return true;
+    }
+
+    private static String handleKey(final ObjectNode record) {
+        final JsonNode offset = record.get(OFFSET);
+        if (offset == null) {
+            return null;
+        }
+        return record.path(TOPIC).asText() + '/' + record.path(PARTITION).asInt() + '/' + offset.asLong();
+    }
+
+    private static void advance(final AtomicReference<Chunk> reference, final Chunk to) {
+        Chunk current = reference.get();
+        while (current.base < to.base && !reference.compareAndSet(current, to)) {
+            current = reference.get();
+        }
+    }
+
+    private final class Itr implements Iterator<ObjectNode> {
+        private final long end = reserved.get();
+        private final Cursor owner;
+        private Chunk previous;
+        private Chunk chunk;
+        private long index;
+        private ObjectNode next;
+        private Chunk lastChunk;
+        private int lastSlot = -1;
+        private ObjectNode last;
+        // First index reserved but not yet readable, where the owner's next scan has to resume
+        private Chunk pendingChunk;
+        private long pendingIndex;
+
+        private Itr() {
+            this(head.get(), start.get(), null);
+        }
+
+        private Itr(final Chunk from, final long fromIndex, final Cursor owner) {
+            this.chunk = from;
+            this.index = Math.max(fromIndex, from.base);
+            this.owner = owner;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && index < end) {
+                if (index >= chunk.base + CHUNK_SIZE) {
+                    final Chunk following = chunk.next.get();
+                    if (following == null) {
+                        markPending();
+                        break;
+                    }
+                    previous = chunk;
+                    chunk = following;
+                    index = Math.max(index, chunk.base);
+                    continue;
+                }
+                if (chunk.isDead()) {
+                    skipDeadChunk();
+                    continue;
+                }
+                final ObjectNode record = chunk.slots.get((int) (index - chunk.base));
+                if (record != null && record != REMOVED) {
+                    next = record;
+                    return true;
+                }
+                if (record == null) {
+                    markPending();
+                }
+                index++;
+            }
+            if (next == null && owner != null) {
+                if (pendingChunk != null) {
+                    owner.moveTo(pendingChunk, pendingIndex);
+                } else {
+                    owner.moveTo(chunk, index);
+                }
+            }
+            return next != null;
+        }
+
+        private void markPending() {
+            if (pendingChunk == null) {
+                pendingChunk = chunk;
+                pendingIndex = index;
+            }
+        }
+
+        /** Steps over a chunk with nothing left in it, unlinking it unless it is the last one. */
+        private void skipDeadChunk() {
+            final Chunk following = chunk.next.get();
+            if (previous != null && following != null) {
+                previous.next.compareAndSet(chunk, following);
+            }
+            index = chunk.base + CHUNK_SIZE;
+        }
+
+        @Override
+        public ObjectNode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            lastChunk = chunk;
+            lastSlot = (int) (index - chunk.base);
+            next = null;
+            index++;
+            return last;
+        }
+
+        @Override
+        public void remove() {
+            if (lastSlot < 0) {
+                throw new IllegalStateException();
+            }
+            tryRemove();
+        }
+
+        private boolean tryRemove() {
+            final boolean removed = RecordLog.this.tryRemove(lastChunk, lastSlot, last);
+            lastSlot = -1;
+            return removed;
+        }
+    }
+}
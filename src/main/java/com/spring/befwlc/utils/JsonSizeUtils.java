@@ -0,0 +1,51 @@
+package com.spring.befwlc.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Rough heap footprint of a Jackson tree on a 64-bit JVM with compressed references. Field names
+ * are not counted, since decoded records share them, and shared subtrees count once per reference.
+ */
+public class JsonSizeUtils {
+
+    private static final int CONTAINER = 16 + 56 + 16;
+    private static final int FIELD = 40 + 4;
+    private static final int ELEMENT = 4;
+    private static final int TEXT = 16 + 24 + 16;
+    private static final int NUMBER = 24;
+
+    private JsonSizeUtils() {
+    }
+
+    public static long estimateRetainedBytes(final JsonNode node) {
+        if (node == null) {
+            return 0;
+        }
+        switch (node.getNodeType()) {
+            case OBJECT:
+                long objectSize = CONTAINER;
+                final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                while (fields.hasNext()) {
+                    objectSize += FIELD + estimateRetainedBytes(fields.next().getValue());
+                }
+                return objectSize;
+            case ARRAY:
+                long arraySize = CONTAINER;
+                for (final JsonNode element : node) {
+                    arraySize += ELEMENT + estimateRetainedBytes(element);
+                }
+                return arraySize;
+            case STRING:
+                return TEXT + node.textValue().length();
+            case NUMBER:
+            case BINARY:
+            case POJO:
+                return NUMBER;
+            default:
+                return 0;
+        }
+    }
+}
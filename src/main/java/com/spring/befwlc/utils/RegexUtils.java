@@ -3,27 +3,68 @@ package com.spring.befwlc.utils;
 import com.spring.befwlc.exceptions.TestExecutionException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Regex helpers over one shared cache of compiled patterns. The feature method grammar below is
+ * compiled up front; any other regex is compiled on first use and cached until the cache is full,
+ * after which new ones are compiled per call.
+ */
 public class RegexUtils{
     public static final String JSON_IS_ARRAY_ACCESS_REGEX = ".*\\[\\d+]$";
     public static final String JSON_ARRAY_INDEX_REGEX = "\\[.*";
     public static final String STATIC_FEATURE_METHOD_REGEX = "^(\\$[A-Z0-9_]+).*";
     public static final String STATIC_FEATURE_METHOD_NAME_REGEX = "^(\\$[A-Z0-9_]+)";
     public static final String CALLABLE_FEATURE_METHOD_REGEX= "^(\\$[A-Z0-9_]+\\(.*\\))";
-    public static final String CALLABLE_FEATURE_METHOD_NAME_REGEX= "^(\\$[A-Z0-9_]+\\(";
-    public static final String CALLABLE_FEATURE_METHOD_ARGS_REGEX = "(\\$[A-Z0-9_]+\\(([^,)]+(,[^,)]+)*\\))|([^,]+)";
+    public static final String CALLABLE_FEATURE_METHOD_NAME_REGEX= "^(\\$[A-Z0-9_]+)\\(";
+    public static final String CALLABLE_FEATURE_METHOD_ARGS_REGEX = "(\\$[A-Z0-9_]+\\(([^,)]+(,[^,)]+)*\\)))|([^,]+)";
 
+    private static final int MAX_CACHED_PATTERNS = 512;
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
+
+    static {
+        for (final String regex : Arrays.asList(JSON_IS_ARRAY_ACCESS_REGEX, JSON_ARRAY_INDEX_REGEX, STATIC_FEATURE_METHOD_REGEX,
+                STATIC_FEATURE_METHOD_NAME_REGEX, CALLABLE_FEATURE_METHOD_REGEX, CALLABLE_FEATURE_METHOD_NAME_REGEX,
+                CALLABLE_FEATURE_METHOD_ARGS_REGEX)) {
+            PATTERNS.put(regex, Pattern.compile(regex));
+        }
+    }
+
+    public static Pattern pattern(final String regex){
+        final Pattern cached = PATTERNS.get(regex);
+        if (cached != null){
+            return cached;
+        }
+        final Pattern compiled = Pattern.compile(regex);
+        if (PATTERNS.size() < MAX_CACHED_PATTERNS){
+            PATTERNS.putIfAbsent(regex, compiled);
+        }
+        return compiled;
+    }
+
+    private static Matcher matcher(final String input, final String regex){
+        return pattern(regex).matcher(input);
+    }
+
+    public static boolean matches(final String input, final String regex){
+        return matcher(input, regex).matches();
+    }
+
+    public static String replaceAll(final String input, final String regex, final String replacement){
+        return matcher(input, regex).replaceAll(replacement);
+    }
 
     public static List<String> captureValues(final String input, final String regex){
         return captureValues(input, regex, 0);
     }
 
     public static List<String> captureValues(final String input, final String regex, final int groupIndex){
-        final Pattern pattern = Pattern.compile(regex);
-        final Matcher matcher = pattern.matcher(input);
+        final Matcher matcher = matcher(input, regex);
 
         final List<String> values = new ArrayList<>();
         while (matcher.find()){
@@ -2,7 +2,6 @@ package com.spring.befwlc.configuration;
 
 import com.spring.befwlc.service.KafkaConsumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 import static com.spring.befwlc.service.KafkaConstants.TEST_CONSUME_KAFKA_TOPIC;
@@ -13,7 +12,7 @@ public class BeKafkaConsumer extends KafkaConsumer {
         super(TEST_CONSUME_KAFKA_TOPIC);
     }
 
-    @KafkaListener(topics = {TEST_CONSUME_KAFKA_TOPIC})
+    @Override
     public void receiveRecord(final ConsumerRecord<byte[], byte[]> record){
         saveRecord(record);
     }